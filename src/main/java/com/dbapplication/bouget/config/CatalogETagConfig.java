@@ -0,0 +1,23 @@
+package com.dbapplication.bouget.config;
+
+import com.dbapplication.bouget.service.BouquetCatalog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class CatalogETagConfig implements WebMvcConfigurer {
+
+    private final BouquetCatalog bouquetCatalog;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // 카탈로그에서만 응답하는 조회 API 에만 적용
+        // (검색/비슷한 부케는 인덱스가 스냅샷보다 늦게 갱신될 수 있어서 카탈로그 버전만으로는 ETag 를 못 만듦)
+        registry.addInterceptor(new CatalogETagInterceptor(bouquetCatalog))
+                .addPathPatterns("/bouquets", "/bouquets/**")
+                .excludePathPatterns("/bouquets/search", "/bouquets/*/similar");
+    }
+}
@@ -0,0 +1,79 @@
+package com.dbapplication.bouget.config;
+
+import com.dbapplication.bouget.service.BouquetCatalog;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * 카탈로그 조회 API(/bouquets/**) 조건부 GET 처리
+ * - ETag = 카탈로그 버전 + 요청 경로/쿼리스트링 해시 (strong)
+ * - If-None-Match 가 현재 ETag 와 같으면 컨트롤러/서비스까지 가지 않고 바로 304
+ * - 카탈로그가 바뀌면 버전이 올라가서 이전 ETag 는 모두 불일치 → 200 으로 새로 내려감
+ * - gzip 으로 내려간 응답은 CatalogResponseCache 가 ETag 끝에 "-gz" 를 붙이므로 비교할 때는 떼고 비교
+ */
+@RequiredArgsConstructor
+class CatalogETagInterceptor implements HandlerInterceptor {
+
+    // CatalogResponseCache 가 gzip 응답 ETag 에 붙이는 접미사
+    private static final String GZIP_ETAG_SUFFIX = "-gz\"";
+
+    private final BouquetCatalog bouquetCatalog;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+
+        String etag = etag(request);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        // 브라우저가 캐시해두되 매번 ETag 로 재검증하도록
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+
+        String matched = match(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag);
+        if (matched != null) {
+            // 클라이언트가 가진 표현(identity / gzip)의 ETag 를 그대로 돌려줌
+            if (!matched.equals("*")) {
+                response.setHeader(HttpHeaders.ETAG, matched);
+            }
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        return true;
+    }
+
+    private String etag(HttpServletRequest request) {
+        String query = request.getQueryString();
+        String resource = query == null ? request.getRequestURI() : request.getRequestURI() + "?" + query;
+
+        return "\"" + Long.toHexString(bouquetCatalog.version()) + "-" + Integer.toHexString(resource.hashCode()) + "\"";
+    }
+
+    /**
+     * If-None-Match 값(콤마 구분 목록 / *) 중 etag 와 같은 값 (W/ 뗀 값), 없으면 null
+     * - If-None-Match 는 weak 비교라 W/ 접두어는 무시
+     * - gzip 표현의 ETag("...-gz") 도 같은 리소스이므로 일치로 봄
+     */
+    private static String match(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return null;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            String base = value.endsWith(GZIP_ETAG_SUFFIX)
+                    ? value.substring(0, value.length() - GZIP_ETAG_SUFFIX.length()) + "\""
+                    : value;
+            if (value.equals("*") || base.equals(etag)) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
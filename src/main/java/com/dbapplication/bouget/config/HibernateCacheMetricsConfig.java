@@ -0,0 +1,41 @@
+package com.dbapplication.bouget.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+
+@Configuration
+public class HibernateCacheMetricsConfig {
+
+    /**
+     * Hibernate 2차 캐시 리전별 JCache 통계를 Micrometer 에 등록
+     * - hit/miss/put 은 hibernate-micrometer 가 hibernate.second.level.cache.* 로 노출
+     * - 여기서는 리전 크기 조정에 필요한 cache.evictions / cache.gets / cache.puts 를 리전(cache 태그)별로 추가
+     */
+    @Bean
+    @ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_second_level_cache", havingValue = "true")
+    public MeterBinder hibernateCacheRegionMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getCache()
+                    .getRegionFactory();
+
+            if (!(regionFactory instanceof JCacheRegionFactory jCacheRegionFactory)) {
+                return;
+            }
+
+            CacheManager cacheManager = jCacheRegionFactory.getCacheManager();
+            for (String cacheName : cacheManager.getCacheNames()) {
+                JCacheMetrics.monitor(registry, cacheManager.getCache(cacheName));
+            }
+        };
+    }
+}
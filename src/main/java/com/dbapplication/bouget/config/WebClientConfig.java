@@ -1,24 +1,43 @@
 package com.dbapplication.bouget.config;
 
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
 
 @Configuration
 public class WebClientConfig implements WebMvcConfigurer {
 
     @Value("${fastapi.base-url}")
     private String fastapiBaseUrl;
+    @Value("${fastapi.connect-timeout-ms:5000}")
+    private int fastapiConnectTimeoutMillis;
+    @Value("${fastapi.response-timeout-seconds:120}")
+    private long fastapiResponseTimeoutSeconds;
     @Value("${file.upload-dir}")
     private String uploadDir;
 
+    /**
+     * FastAPI 호출용 WebClient
+     * - 합성 결과 다운로드(절대 URL)도 같은 클라이언트로 (커넥션 풀 공유)
+     * - 타임아웃이 없으면 응답이 안 오는 작업이 in-flight 자리를 계속 차지하므로 연결/응답 타임아웃 지정
+     */
     @Bean
     public WebClient fastapiWebClient(WebClient.Builder builder) {
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, fastapiConnectTimeoutMillis)
+                .responseTimeout(Duration.ofSeconds(fastapiResponseTimeoutSeconds));
+
         return builder
                 .baseUrl(fastapiBaseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
     }
 
@@ -4,6 +4,7 @@ import com.dbapplication.bouget.dto.ApplyImageResponse;
 import com.dbapplication.bouget.dto.ApplyImageListResponse;
 import com.dbapplication.bouget.service.ApplyImageService;
 import com.dbapplication.bouget.service.AuthService;
+import com.dbapplication.bouget.service.CompositeJobQueue;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -11,8 +12,9 @@ import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -26,7 +28,11 @@ import org.springframework.web.server.ResponseStatusException;
 @Tag(name = "VirtualFittings", description = "이미지 합성(가상 피팅) 및 히스토리 관련 API")
 public class ApplyImageController {
 
+    // 작업 대기열이 꽉 찼을 때 다시 시도해보라고 알려줄 시간 (초)
+    private static final String RETRY_AFTER_SECONDS = "10";
+
     private final ApplyImageService applyImageService;
+    private final CompositeJobQueue compositeJobQueue;
     private final AuthService authService;
 
     /**
@@ -37,6 +43,8 @@ public class ApplyImageController {
      *  - session_id : Long (선택, 추천 세션 ID)
      *
      * userId는 Authorization: Bearer <token> 에서 조회.
+     *
+     * 합성 작업 대기열(DB 큐)이 너무 밀려 있으면 저장 없이 바로 429 (Retry-After)
      */
     @Operation(
             summary = "가상 피팅 요청 (이미지 합성)",
@@ -56,6 +64,13 @@ public class ApplyImageController {
         // ★ 세션 대신 토큰에서 현재 사용자 조회
         Long userId = authService.getCurrentUser().getId();
 
+        if (compositeJobQueue.isBacklogFull()) {
+            log.warn("composite 작업 대기열 포화로 요청 거절. userId={}", userId);
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .build();
+        }
+
         ApplyImageResponse response = applyImageService.createApplyImage(
                 userId,
                 bouquetId,
@@ -69,6 +84,8 @@ public class ApplyImageController {
     /**
      * GET /virtual-fittings
      * 내가 적용해본 가상 피팅 리스트 (마이페이지)
+     * - cursor를 주면 offset 대신 커서(마지막 id) 기반으로 조회 (count 쿼리 생략)
+     * - 최신순 정렬, size는 최대 100
      */
     @Operation(
             summary = "내 가상 피팅 히스토리 조회",
@@ -79,13 +96,31 @@ public class ApplyImageController {
             @Parameter(description = "페이지 번호 (1부터 시작)", example = "1")
             @RequestParam(name = "page", defaultValue = "1") int page,
 
-            @Parameter(description = "페이지 크기", example = "20")
-            @RequestParam(name = "size", defaultValue = "20") int size
+            @Parameter(description = "페이지 크기 (최대 100)", example = "20")
+            @RequestParam(name = "size", defaultValue = "20") int size,
+
+            @Parameter(description = "커서 (이전 응답의 nextCursor). 주면 page 대신 커서 기반으로 조회", example = "120")
+            @RequestParam(name = "cursor", required = false) Long cursor,
+
+            @Parameter(description = "커서 조회 시 전체 개수(totalCount)도 같이 받을지 여부", example = "false")
+            @RequestParam(name = "with_total", defaultValue = "false") boolean withTotal
     ) {
         Long userId = authService.getCurrentUser().getId();   // ★ 여기서도 토큰 기반
 
-        int safePage = Math.max(page, 1);
-        Pageable pageable = PageRequest.of(safePage - 1, size);
+        if (cursor != null) {
+            Slice<ApplyImageResponse> applyImageSlice =
+                    applyImageService.getApplyImagesByUserBefore(userId, cursor, PageParams.newestFirst(1, size));
+
+            ApplyImageListResponse response = ApplyImageListResponse.builder()
+                    .items(applyImageSlice.getContent())
+                    .totalCount(withTotal ? applyImageService.countApplyImagesByUser(userId) : null)
+                    .nextCursor(PageParams.nextCursor(applyImageSlice, ApplyImageResponse::id))
+                    .build();
+
+            return ResponseEntity.ok(response);
+        }
+
+        Pageable pageable = PageParams.newestFirst(page, size);
 
         Page<ApplyImageResponse> applyImagePage =
                 applyImageService.getApplyImagesByUser(userId, pageable);
@@ -93,6 +128,7 @@ public class ApplyImageController {
         ApplyImageListResponse response = ApplyImageListResponse.builder()
                 .items(applyImagePage.getContent())
                 .totalCount(applyImagePage.getTotalElements())
+                .nextCursor(PageParams.nextCursor(applyImagePage, ApplyImageResponse::id))
                 .build();
 
         return ResponseEntity.ok(response);
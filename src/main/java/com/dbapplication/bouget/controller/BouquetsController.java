@@ -2,22 +2,34 @@ package com.dbapplication.bouget.controller;
 
 
 import com.dbapplication.bouget.dto.BouquetDetailResponse;
+import com.dbapplication.bouget.dto.BouquetFacetResponse;
+import com.dbapplication.bouget.dto.BouquetFilter;
 import com.dbapplication.bouget.dto.BouquetListResponse;
 import com.dbapplication.bouget.dto.BouquetResponse;
 import com.dbapplication.bouget.entity.enums.*;
 import com.dbapplication.bouget.service.BouquetQueryService;
+import com.dbapplication.bouget.service.BouquetSimilarityTable;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Set;
+
 /**
- * 부케 정보 조회 (전체, 필터, 상세)
+ * 부케 정보 조회 (전체, 필터, 검색, 상세, 비슷한 부케)
  */
 @RestController
 @RequestMapping("/bouquets")
@@ -25,7 +37,11 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Bouquets", description = "부케 정보 조회 (전체, 필터, 상세)")
 public class BouquetsController {
 
+    // 앞쪽 몇 페이지만 응답 바이트 캐시 (뒤쪽 페이지는 요청이 드물어 캐시만 차지함)
+    private static final int MAX_CACHED_PAGE = 5;
+
     private final BouquetQueryService bouquetQueryService;
+    private final CatalogResponseCache catalogResponseCache;
 
     /**
      * GET /bouquets
@@ -33,47 +49,198 @@ public class BouquetsController {
      *
      * - 프론트 스펙과 맞추기 위해 쿼리 파라미터 이름은 snake_case 그대로 사용
      * - page는 1부터 시작하는 값으로 받고, 내부적으로는 0-based Pageable 로 변환
+     * - 속성 필터는 콤마로 여러 값 지정 가능 (season=SPRING,SUMMER → 봄 또는 여름)
+     * - reason/description 은 기본적으로 빼고 내려주고, include=description 일 때만 포함
+     * - with_total=false 면 전체 개수 없이 다음 페이지 여부(hasNext)만 (무한 스크롤용)
+     * - 앞쪽 페이지는 직렬화된 JSON 바이트(+gzip)를 캐시해서 그대로 내려줌
      */
     @GetMapping
     @Operation(
             summary = "부케 리스트 조회 (전체 / 필터)",
-            description = "전체 부케 리스트를 조회하거나, ERD의 속성(season, dress_mood 등)별로 필터링하여 조회합니다."
+            description = "전체 부케 리스트를 조회하거나, ERD의 속성(season, dress_mood 등)별로 필터링하여 조회합니다.",
+            responses = @ApiResponse(
+                    responseCode = "200",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = BouquetListResponse.class)
+                    )
+            )
     )
-    public ResponseEntity<BouquetListResponse> getBouquets(
-            @Parameter(description = "필터 - 시즌")
-            @RequestParam(name = "season", required = false) Season season,
+    public ResponseEntity<byte[]> getBouquets(
+            @Parameter(description = "필터 - 시즌 (여러 개는 콤마로 구분)")
+            @RequestParam(name = "season", required = false) Set<Season> seasons,
+
+            @Parameter(description = "필터 - 부케 분위기 (여러 개는 콤마로 구분)")
+            @RequestParam(name = "bouquet_atmosphere", required = false) Set<BouquetAtmosphere> bouquetAtmospheres,
+
+            @Parameter(description = "필터 - 사용 용도 (여러 개는 콤마로 구분)")
+            @RequestParam(name = "usage", required = false) Set<Usage> usages,
+
+            @Parameter(description = "필터 - 드레스 무드 (여러 개는 콤마로 구분)")
+            @RequestParam(name = "dress_mood", required = false) Set<DressMood> dressMoods,
+
+            @Parameter(description = "필터 - 드레스 실루엣 (여러 개는 콤마로 구분)")
+            @RequestParam(name = "dress_silhouette", required = false) Set<DressSilhouette> dressSilhouettes,
+
+            @Parameter(description = "필터 - 웨딩 컬러 (여러 개는 콤마로 구분)")
+            @RequestParam(name = "wedding_color", required = false) Set<WeddingColor> weddingColors,
+
+            @Parameter(description = "필터 - 최소 가격 (이상)", example = "30000")
+            @RequestParam(name = "min_price", required = false) Integer minPrice,
 
-            @Parameter(description = "필터 - 부케 분위기")
-            @RequestParam(name = "bouquet_atmosphere", required = false) BouquetAtmosphere bouquetAtmosphere,
+            @Parameter(description = "필터 - 최대 가격 (이하)", example = "100000")
+            @RequestParam(name = "max_price", required = false) Integer maxPrice,
 
-            @Parameter(description = "필터 - 사용 용도")
-            @RequestParam(name = "usage", required = false) Usage usage,
+            @Parameter(description = "추가로 포함할 필드 (description: reason/description 포함)", example = "description")
+            @RequestParam(name = "include", required = false) Set<String> include,
 
             @Parameter(description = "페이지 번호 (1부터 시작)", example = "1")
             @RequestParam(name = "page", defaultValue = "1") int page,
 
-            @Parameter(description = "페이지 크기", example = "20")
-            @RequestParam(name = "size", defaultValue = "20") int size
+            @Parameter(description = "페이지 크기 (최대 100)", example = "20")
+            @RequestParam(name = "size", defaultValue = "20") int size,
+
+            @Parameter(description = "전체 개수(totalCount)도 같이 받을지 여부 (false면 hasNext만)", example = "true")
+            @RequestParam(name = "with_total", defaultValue = "true") boolean withTotal,
+
+            @Parameter(hidden = true)
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+
+            @Parameter(hidden = true)
+            HttpServletResponse response
     ) {
-        // 방어 로직: page는 최소 1
-        int safePage = Math.max(page, 1);
-        Pageable pageable = PageRequest.of(safePage - 1, size);
+        // 방어 로직: page는 최소 1, size는 최대 100
+        Pageable pageable = PageParams.of(page, size);
 
         // Service 레이어에서 필터/페이징 처리
-        Page<BouquetResponse> bouquetPage = bouquetQueryService.getBouquets(
-                season,
-                bouquetAtmosphere,
-                usage,
-                pageable
+        BouquetFilter filter = new BouquetFilter(
+                seasons,
+                bouquetAtmospheres,
+                usages,
+                dressMoods,
+                dressSilhouettes,
+                weddingColors,
+                minPrice,
+                maxPrice
         );
+        boolean includeDescription = include != null && include.contains("description");
+
+        ListKey key = pageable.getPageNumber() < MAX_CACHED_PAGE
+                ? new ListKey(filter, pageable.getPageNumber(), pageable.getPageSize(), includeDescription, withTotal)
+                : null;
+
+        return catalogResponseCache.respond(
+                key,
+                acceptEncoding,
+                response,
+                () -> buildListResponse(filter, pageable, includeDescription, withTotal)
+        );
+    }
 
-        // 응답 스펙: { bouquets: [...], totalCount: n }
-        BouquetListResponse response = BouquetListResponse.builder()
+    private BouquetListResponse buildListResponse(
+            BouquetFilter filter,
+            Pageable pageable,
+            boolean includeDescription,
+            boolean withTotal
+    ) {
+        if (!withTotal) {
+            Slice<BouquetResponse> bouquetSlice = bouquetQueryService.getBouquetSlice(filter, pageable, includeDescription);
+
+            return BouquetListResponse.builder()
+                    .bouquets(bouquetSlice.getContent())
+                    .hasNext(bouquetSlice.hasNext())
+                    .build();
+        }
+
+        Page<BouquetResponse> bouquetPage = bouquetQueryService.getBouquets(filter, pageable, includeDescription);
+
+        // 응답 스펙: { bouquets: [...], totalCount: n, hasNext: bool }
+        return BouquetListResponse.builder()
                 .bouquets(bouquetPage.getContent())
                 .totalCount(bouquetPage.getTotalElements())
+                .hasNext(bouquetPage.hasNext())
                 .build();
+    }
+
+    /**
+     * GET /bouquets/facets
+     * 필터 UI용 속성값별 부케 개수
+     *
+     * - 필터 파라미터는 GET /bouquets 와 동일
+     * - 각 속성의 개수는 그 속성 조건만 뺀 나머지 필터 기준으로 계산
+     */
+    @GetMapping("/facets")
+    @Operation(
+            summary = "부케 필터별 개수 조회",
+            description = "현재 필터 기준으로 시즌/분위기/용도/드레스 무드/실루엣/웨딩 컬러 값마다 해당하는 부케 개수를 조회합니다."
+    )
+    public ResponseEntity<BouquetFacetResponse> getBouquetFacets(
+            @Parameter(description = "필터 - 시즌 (여러 개는 콤마로 구분)")
+            @RequestParam(name = "season", required = false) Set<Season> seasons,
+
+            @Parameter(description = "필터 - 부케 분위기 (여러 개는 콤마로 구분)")
+            @RequestParam(name = "bouquet_atmosphere", required = false) Set<BouquetAtmosphere> bouquetAtmospheres,
+
+            @Parameter(description = "필터 - 사용 용도 (여러 개는 콤마로 구분)")
+            @RequestParam(name = "usage", required = false) Set<Usage> usages,
+
+            @Parameter(description = "필터 - 드레스 무드 (여러 개는 콤마로 구분)")
+            @RequestParam(name = "dress_mood", required = false) Set<DressMood> dressMoods,
+
+            @Parameter(description = "필터 - 드레스 실루엣 (여러 개는 콤마로 구분)")
+            @RequestParam(name = "dress_silhouette", required = false) Set<DressSilhouette> dressSilhouettes,
+
+            @Parameter(description = "필터 - 웨딩 컬러 (여러 개는 콤마로 구분)")
+            @RequestParam(name = "wedding_color", required = false) Set<WeddingColor> weddingColors,
 
-        return ResponseEntity.ok(response);
+            @Parameter(description = "필터 - 최소 가격 (이상)", example = "30000")
+            @RequestParam(name = "min_price", required = false) Integer minPrice,
+
+            @Parameter(description = "필터 - 최대 가격 (이하)", example = "100000")
+            @RequestParam(name = "max_price", required = false) Integer maxPrice
+    ) {
+        BouquetFilter filter = new BouquetFilter(
+                seasons,
+                bouquetAtmospheres,
+                usages,
+                dressMoods,
+                dressSilhouettes,
+                weddingColors,
+                minPrice,
+                maxPrice
+        );
+        return ResponseEntity.ok(bouquetQueryService.getFacets(filter));
+    }
+
+    /**
+     * GET /bouquets/search
+     * 부케 검색 (이름 / 추천 이유 / 설명)
+     *
+     * - 글자 2-gram 단위로 매칭해서 띄어쓰기나 조사가 달라도 검색됨 ("장미 부케" → "장미부케를")
+     * - 관련도 높은 순, 같으면 부케 ID 오름차순
+     */
+    @GetMapping("/search")
+    @Operation(
+            summary = "부케 검색",
+            description = "부케 이름/추천 이유/설명에서 검색어와 비슷한 부케를 관련도 순으로 조회합니다."
+    )
+    public ResponseEntity<BouquetListResponse> searchBouquets(
+            @Parameter(description = "검색어", required = true, example = "장미")
+            @RequestParam(name = "q") String query,
+
+            @Parameter(description = "페이지 번호 (1부터 시작)", example = "1")
+            @RequestParam(name = "page", defaultValue = "1") int page,
+
+            @Parameter(description = "페이지 크기 (최대 100)", example = "20")
+            @RequestParam(name = "size", defaultValue = "20") int size
+    ) {
+        Page<BouquetResponse> bouquetPage = bouquetQueryService.search(query, PageParams.of(page, size));
+
+        return ResponseEntity.ok(BouquetListResponse.builder()
+                .bouquets(bouquetPage.getContent())
+                .totalCount(bouquetPage.getTotalElements())
+                .hasNext(bouquetPage.hasNext())
+                .build());
     }
 
     /**
@@ -92,4 +259,31 @@ public class BouquetsController {
         BouquetDetailResponse detail = bouquetQueryService.getBouquetDetail(bouquetId);
         return ResponseEntity.ok(detail);
     }
+
+    /**
+     * GET /bouquets/{bouquetId}/similar
+     * 비슷한 부케 목록 (카테고리 속성 + 추천 이유/설명 텍스트 기준)
+     *
+     * - 미리 계산된 이웃 목록에서 바로 응답, 카탈로그가 바뀌면 백그라운드에서 다시 계산
+     */
+    @GetMapping("/{bouquetId}/similar")
+    @Operation(
+            summary = "비슷한 부케 조회",
+            description = "특정 부케와 카테고리 속성/추천 이유/설명이 비슷한 부케를 유사도 순으로 조회합니다."
+    )
+    public ResponseEntity<List<BouquetResponse>> getSimilarBouquets(
+            @Parameter(description = "부케 ID", required = true, example = "1")
+            @PathVariable("bouquetId") Long bouquetId,
+
+            @Parameter(description = "개수 (최대 20)", example = "10")
+            @RequestParam(name = "size", defaultValue = "10") int size
+    ) {
+        int safeSize = Math.min(Math.max(size, 1), BouquetSimilarityTable.TOP_N);
+        return ResponseEntity.ok(bouquetQueryService.getSimilarBouquets(bouquetId, safeSize));
+    }
+
+    /**
+     * 리스트 응답 캐시 키 (카탈로그 버전은 CatalogResponseCache 에서 붙임)
+     */
+    private record ListKey(BouquetFilter filter, int page, int size, boolean includeDescription, boolean withTotal) {}
 }
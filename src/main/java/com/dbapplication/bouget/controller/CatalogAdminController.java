@@ -0,0 +1,137 @@
+package com.dbapplication.bouget.controller;
+
+import com.dbapplication.bouget.dto.CatalogImportResponse;
+import com.dbapplication.bouget.service.CatalogExportService;
+import com.dbapplication.bouget.service.CatalogImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 관리자용 카탈로그 대량 가져오기 / 내보내기
+ * - X-Admin-Token 헤더가 catalog.import.admin-token 과 같아야 함 (설정이 비어 있으면 API 자체가 막힘)
+ * - 업로드 크기 제한(multipart max-file-size)보다 큰 파일은 CatalogImportRunner(CLI) 로 가져오기
+ */
+@Slf4j
+@RestController
+@RequestMapping("/admin/catalog")
+@Tag(name = "Admin", description = "관리자용 카탈로그 관리 API")
+public class CatalogAdminController {
+
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final CatalogImportService catalogImportService;
+    private final CatalogExportService catalogExportService;
+    private final String adminToken;
+
+    public CatalogAdminController(
+            CatalogImportService catalogImportService,
+            CatalogExportService catalogExportService,
+            @Value("${catalog.import.admin-token:}") String adminToken
+    ) {
+        this.catalogImportService = catalogImportService;
+        this.catalogExportService = catalogExportService;
+        this.adminToken = adminToken;
+    }
+
+    /**
+     * POST /admin/catalog/import
+     * 요청 형식: multipart/form-data
+     *  - file       : CSV / NDJSON 파일
+     *  - format     : csv | ndjson (선택, 없으면 파일 확장자로 판단)
+     *  - images_dir : 서버에 올려둔 이미지 디렉터리 경로 (선택, catalog.import.images-root 안이어야 함)
+     */
+    @Operation(
+            summary = "카탈로그 대량 가져오기",
+            description = "CSV/NDJSON 파일의 부케/카테고리/스토어를 배치로 저장하고, 이미지를 업로드 디렉터리로 복사합니다."
+    )
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<CatalogImportResponse> importCatalog(
+            @Parameter(hidden = true)
+            @RequestHeader(name = "X-Admin-Token", required = false) String token,
+
+            @Parameter(description = "CSV / NDJSON 파일", required = true)
+            @RequestPart("file") MultipartFile file,
+
+            @Parameter(description = "파일 형식 (csv / ndjson, 없으면 확장자로 판단)", example = "csv")
+            @RequestParam(name = "format", required = false) String format,
+
+            @Parameter(description = "서버의 이미지 디렉터리 경로 (images-root 기준 상대 경로 또는 그 안의 절대 경로)", example = "2025-06")
+            @RequestParam(name = "images_dir", required = false) String imagesDir
+    ) throws IOException {
+        if (!isAdmin(token)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "관리자 토큰이 필요합니다.");
+        }
+
+        CatalogImportService.Format importFormat;
+        Path imagesPath;
+        try {
+            importFormat = CatalogImportService.Format.of(format != null ? format : file.getOriginalFilename());
+            imagesPath = catalogImportService.resolveImagesDir(imagesDir);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+
+        try (InputStream in = file.getInputStream()) {
+            CatalogImportResponse response = catalogImportService.importCatalog(in, importFormat, imagesPath);
+            return ResponseEntity.ok(response);
+        }
+    }
+
+    /**
+     * GET /admin/catalog/export
+     * 부케 + 카테고리 + 스토어 전체를 NDJSON 으로 내려받기 (한 줄에 부케 하나, 상세 API 와 같은 모양)
+     * - DB 커서에서 읽는 대로 바로 응답에 써서, 부케 수와 상관없이 서버 메모리 사용량 일정
+     */
+    @Operation(
+            summary = "카탈로그 전체 내보내기 (NDJSON)",
+            description = "전체 부케를 카테고리/스토어 정보와 함께 한 줄에 하나씩 NDJSON 으로 스트리밍합니다."
+    )
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCatalog(
+            @Parameter(hidden = true)
+            @RequestHeader(name = "X-Admin-Token", required = false) String token
+    ) {
+        if (!isAdmin(token)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "관리자 토큰이 필요합니다.");
+        }
+
+        String filename = "bouquets-" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE) + ".ndjson";
+        StreamingResponseBody body = catalogExportService::exportNdjson;
+
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    private boolean isAdmin(String token) {
+        if (adminToken.isBlank() || token == null) {
+            return false;
+        }
+        // 길이/내용에 따라 비교 시간이 달라지지 않도록
+        return MessageDigest.isEqual(
+                adminToken.getBytes(StandardCharsets.UTF_8),
+                token.getBytes(StandardCharsets.UTF_8)
+        );
+    }
+}
@@ -0,0 +1,189 @@
+package com.dbapplication.bouget.controller;
+
+import com.dbapplication.bouget.service.BouquetCatalog;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 카탈로그 조회 응답 JSON 바이트 캐시
+ * - 같은 요청(필터 + 페이지 + 크기 ...) 이 반복되면 Jackson 직렬화 없이 미리 만들어둔 UTF-8 바이트를 그대로 내려준다
+ * - 키에 카탈로그 버전이 들어가므로 카탈로그가 바뀌면 이전 항목은 자연스럽게 못 쓰게 되고, 버전이 바뀐 게 보이면 통째로 비운다
+ * - 전체 바이트 수 기준으로 제한 (LRU), 선택적으로 gzip 바이트도 같이 보관
+ */
+@Component
+@RequiredArgsConstructor
+class CatalogResponseCache {
+
+    // 이보다 작은 응답은 gzip 이득이 거의 없어서 압축하지 않음
+    private static final int GZIP_MIN_BYTES = 1024;
+
+    // gzip 으로 내려줄 때 ETag 에 붙이는 접미사 (CatalogETagInterceptor 는 If-None-Match 비교 시 이 접미사를 떼고 비교)
+    private static final String GZIP_ETAG_SUFFIX = "-gz";
+
+    private final ObjectMapper objectMapper;
+    private final BouquetCatalog bouquetCatalog;
+
+    // 캐시 전체 최대 크기 (바이트)
+    @Value("${catalog.response-cache.max-bytes:33554432}")
+    private long maxBytes;
+
+    @Value("${catalog.response-cache.gzip:true}")
+    private boolean gzipEnabled;
+
+    // 접근 순서 LRU (this 로 동기화)
+    private final LinkedHashMap<CacheKey, Body> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private long cachedVersion;
+
+    /**
+     * requestKey 에 해당하는 응답을 캐시에서 찾고, 없으면 body 를 직렬화해서 캐시 후 반환
+     * - requestKey 가 null 이면 캐시하지 않고 직렬화만 한다
+     * - gzip 으로 내려주면 response 의 ETag 에 GZIP_ETAG_SUFFIX 를 붙인다
+     */
+    ResponseEntity<byte[]> respond(Object requestKey, String acceptEncoding, HttpServletResponse response, Supplier<?> body) {
+        if (requestKey == null) {
+            return toResponse(serialize(body.get(), false), acceptEncoding, response);
+        }
+
+        CacheKey key = new CacheKey(bouquetCatalog.version(), requestKey);
+
+        Body cached = get(key);
+        if (cached == null) {
+            cached = serialize(body.get(), gzipEnabled);
+            put(key, cached);
+        }
+        return toResponse(cached, acceptEncoding, response);
+    }
+
+    private synchronized Body get(CacheKey key) {
+        return entries.get(key);
+    }
+
+    private synchronized void put(CacheKey key, Body body) {
+        // 새 버전 키가 들어오면 이전 버전 항목은 더 이상 쓸 일이 없으므로 전부 버린다
+        if (key.version() != cachedVersion) {
+            entries.clear();
+            totalBytes = 0;
+            cachedVersion = key.version();
+        }
+
+        // 한 항목이 캐시의 1/4 을 넘으면 넣지 않음 (다른 항목을 다 밀어내지 않도록)
+        if (body.size() > maxBytes / 4) {
+            return;
+        }
+
+        Body previous = entries.put(key, body);
+        totalBytes += body.size() - (previous != null ? previous.size() : 0);
+
+        Iterator<Map.Entry<CacheKey, Body>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().getValue().size();
+            eldest.remove();
+        }
+    }
+
+    private Body serialize(Object value, boolean gzip) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            return new Body(json, gzip && json.length >= GZIP_MIN_BYTES ? gzip(json) : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("응답 JSON 직렬화 실패", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static ResponseEntity<byte[]> toResponse(Body body, String acceptEncoding, HttpServletResponse response) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (body.gzip() != null && acceptsGzip(acceptEncoding)) {
+            // gzip 바이트는 다른 표현이므로 strong ETag 도 달라야 함 (인터셉터가 붙인 ETag 에 접미사)
+            String etag = response.getHeader(HttpHeaders.ETAG);
+            if (etag != null && etag.endsWith("\"")) {
+                response.setHeader(HttpHeaders.ETAG, etag.substring(0, etag.length() - 1) + GZIP_ETAG_SUFFIX + "\"");
+            }
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip());
+        }
+        return builder.body(body.json());
+    }
+
+    /**
+     * Accept-Encoding 이 gzip 을 허용하는지 (q=0 은 거부)
+     * - gzip / x-gzip 이 명시돼 있으면 그 q 값, 없으면 * 의 q 값, 둘 다 없으면 허용 안 함
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQuality = quality(parts);
+            } else if (coding.equals("*")) {
+                wildcardQuality = quality(parts);
+            }
+        }
+        if (gzipQuality != null) {
+            return gzipQuality > 0;
+        }
+        return wildcardQuality != null && wildcardQuality > 0;
+    }
+
+    /**
+     * "gzip;q=0.5" 처럼 나뉜 조각에서 q 값 (없으면 1, 형식이 잘못되면 0)
+     */
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.length() > 2 && (param.charAt(0) == 'q' || param.charAt(0) == 'Q') && param.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(param.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private record CacheKey(long version, Object requestKey) {}
+
+    /**
+     * 직렬화된 응답 바이트 (gzip 은 없으면 null)
+     */
+    private record Body(byte[] json, byte[] gzip) {
+        long size() {
+            return json.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+}
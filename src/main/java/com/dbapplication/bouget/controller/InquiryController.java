@@ -13,8 +13,8 @@ import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -51,10 +51,14 @@ public class InquiryController {
      * GET /inquiries/my
      * 내 문의 리스트 조회
      *
+     * - cursor를 주면 offset 대신 커서(마지막 문의 id) 기반으로 조회 (count 쿼리 생략)
+     * - 최신순 정렬, size는 최대 100
+     *
      * 응답 형식:
      * {
      *   "items": [ InquiryResponse... ],
-     *   "totalCount": 123
+     *   "totalCount": 123,
+     *   "nextCursor": 456
      * }
      */
     @GetMapping("/my")
@@ -67,20 +71,39 @@ public class InquiryController {
             @Parameter(description = "페이지 번호 (1부터 시작)", example = "1")
             @RequestParam(name = "page", defaultValue = "1") int page,
 
-            @Parameter(description = "페이지 크기", example = "20")
-            @RequestParam(name = "size", defaultValue = "20") int size
+            @Parameter(description = "페이지 크기 (최대 100)", example = "20")
+            @RequestParam(name = "size", defaultValue = "20") int size,
+
+            @Parameter(description = "커서 (이전 응답의 nextCursor). 주면 page 대신 커서 기반으로 조회", example = "120")
+            @RequestParam(name = "cursor", required = false) Long cursor,
+
+            @Parameter(description = "커서 조회 시 전체 개수(totalCount)도 같이 받을지 여부", example = "false")
+            @RequestParam(name = "with_total", defaultValue = "false") boolean withTotal
     ) {
         Long userId = authService.getCurrentUser().getId();
         // TODO: userId null 시 401 처리
 
-        int safePage = Math.max(page, 1);
-        Pageable pageable = PageRequest.of(safePage - 1, size);
+        if (cursor != null) {
+            Slice<InquiryResponse> inquirySlice =
+                    inquiryService.getMyInquiriesBefore(userId, cursor, PageParams.newestFirst(1, size));
+
+            InquiryListResponse response = InquiryListResponse.builder()
+                    .items(inquirySlice.getContent())
+                    .totalCount(withTotal ? inquiryService.countMyInquiries(userId) : null)
+                    .nextCursor(PageParams.nextCursor(inquirySlice, InquiryResponse::getId))
+                    .build();
+
+            return ResponseEntity.ok(response);
+        }
+
+        Pageable pageable = PageParams.newestFirst(page, size);
 
         Page<InquiryResponse> inquiryPage = inquiryService.getMyInquiries(userId, pageable);
 
         InquiryListResponse response = InquiryListResponse.builder()
                 .items(inquiryPage.getContent())
                 .totalCount(inquiryPage.getTotalElements())
+                .nextCursor(PageParams.nextCursor(inquiryPage, InquiryResponse::getId))
                 .build();
 
         return ResponseEntity.ok(response);
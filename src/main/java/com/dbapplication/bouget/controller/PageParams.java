@@ -0,0 +1,57 @@
+package com.dbapplication.bouget.controller;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 목록 API 공통 페이지 파라미터 처리
+ * - page는 1부터 시작하는 값으로 받고, 내부적으로는 0-based Pageable 로 변환
+ * - size는 서버에서 MAX_SIZE 로 제한 (한 요청이 너무 많은 행을 메모리에 올리지 않도록)
+ * - page도 MAX_PAGE 로 제한 (offset 이 int 를 넘거나 검색 상위 k 개 힙이 커지지 않도록)
+ */
+final class PageParams {
+
+    static final int MAX_SIZE = 100;
+    static final int MAX_PAGE = 10_000;
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "id");
+
+    private PageParams() {
+    }
+
+    static int safeSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_SIZE);
+    }
+
+    static int safePage(int page) {
+        return Math.min(Math.max(page, 1), MAX_PAGE);
+    }
+
+    static Pageable of(int page, int size) {
+        return PageRequest.of(safePage(page) - 1, safeSize(size));
+    }
+
+    /**
+     * 히스토리 목록용: 최신순(id 내림차순) 정렬
+     * - 커서(마지막 id) 기반 조회와 같은 순서라서 offset 페이지에서 받은 nextCursor 로 이어서 조회 가능
+     */
+    static Pageable newestFirst(int page, int size) {
+        return PageRequest.of(safePage(page) - 1, safeSize(size), NEWEST_FIRST);
+    }
+
+    /**
+     * 다음 페이지가 있으면 현재 페이지 마지막 항목의 id, 없으면 null
+     */
+    static <T> Long nextCursor(Slice<T> slice, Function<T, Long> idOf) {
+        if (!slice.hasNext() || !slice.hasContent()) {
+            return null;
+        }
+        List<T> content = slice.getContent();
+        return idOf.apply(content.get(content.size() - 1));
+    }
+}
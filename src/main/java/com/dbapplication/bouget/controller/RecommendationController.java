@@ -10,8 +10,8 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -53,7 +53,9 @@ public class RecommendationController {
      * 내 추천 히스토리 조회
      *
      * - page는 1부터 시작하는 값으로 받고, 내부에서 0-based 로 변환
-     * - 응답 스펙: { items: [...], totalCount: n }
+     * - cursor를 주면 offset 대신 커서(마지막 세션 id) 기반으로 조회 (count 쿼리 생략)
+     * - 최신순 정렬, size는 최대 100
+     * - 응답 스펙: { items: [...], totalCount: n, nextCursor: id }
      */
     @GetMapping
     @Operation(
@@ -64,17 +66,36 @@ public class RecommendationController {
             @Parameter(description = "페이지 번호 (1부터 시작)", example = "1")
             @RequestParam(name = "page", defaultValue = "1") int page,
 
-            @Parameter(description = "페이지 크기", example = "20")
-            @RequestParam(name = "size", defaultValue = "20") int size
+            @Parameter(description = "페이지 크기 (최대 100)", example = "20")
+            @RequestParam(name = "size", defaultValue = "20") int size,
+
+            @Parameter(description = "커서 (이전 응답의 nextCursor). 주면 page 대신 커서 기반으로 조회", example = "120")
+            @RequestParam(name = "cursor", required = false) Long cursor,
+
+            @Parameter(description = "커서 조회 시 전체 개수(totalCount)도 같이 받을지 여부", example = "false")
+            @RequestParam(name = "with_total", defaultValue = "false") boolean withTotal
     ) {
-        int safePage = Math.max(page, 1);
-        Pageable pageable = PageRequest.of(safePage - 1, size);
+        if (cursor != null) {
+            Slice<RecommendationSessionResponse> sessionSlice =
+                    recommendationService.getMySessionsBefore(cursor, PageParams.newestFirst(1, size));
+
+            RecommendationSessionListResponse response = RecommendationSessionListResponse.builder()
+                    .items(sessionSlice.getContent())
+                    .totalCount(withTotal ? recommendationService.countMySessions() : null)
+                    .nextCursor(PageParams.nextCursor(sessionSlice, RecommendationSessionResponse::getId))
+                    .build();
+
+            return ResponseEntity.ok(response);
+        }
+
+        Pageable pageable = PageParams.newestFirst(page, size);
 
         Page<RecommendationSessionResponse> sessionPage = recommendationService.getMySessions(pageable);
 
         RecommendationSessionListResponse response = RecommendationSessionListResponse.builder()
                 .items(sessionPage.getContent())
                 .totalCount(sessionPage.getTotalElements())
+                .nextCursor(PageParams.nextCursor(sessionPage, RecommendationSessionResponse::getId))
                 .build();
 
         return ResponseEntity.ok(response);
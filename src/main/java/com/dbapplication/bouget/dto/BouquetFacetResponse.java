@@ -0,0 +1,31 @@
+package com.dbapplication.bouget.dto;
+
+import com.dbapplication.bouget.entity.enums.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 필터 UI용 속성값별 부케 개수
+ * - 각 속성의 개수는 "그 속성 조건만 뺀" 나머지 필터 기준
+ *   (season=SPRING 을 골라도 SUMMER 를 추가하면 몇 개가 되는지 보여주기 위함)
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BouquetFacetResponse {
+
+    // 현재 필터 전체에 맞는 부케 개수
+    private long totalCount;
+
+    private Map<Season, Long> season;
+    private Map<DressMood, Long> dressMood;
+    private Map<DressSilhouette, Long> dressSilhouette;
+    private Map<WeddingColor, Long> weddingColor;
+    private Map<BouquetAtmosphere, Long> bouquetAtmosphere;
+    private Map<Usage, Long> usage;
+}
@@ -0,0 +1,49 @@
+package com.dbapplication.bouget.dto;
+
+import com.dbapplication.bouget.entity.enums.*;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 부케 리스트 필터 조건
+ * - 같은 속성 안에서는 OR (season=SPRING,SUMMER → 봄 또는 여름)
+ * - 속성끼리는 AND
+ * - 비어 있는 속성/가격은 조건 없음
+ * - 불변이고 equals/hashCode 가 값 기준이라 캐시 키로도 사용
+ */
+public record BouquetFilter(
+        Set<Season> seasons,
+        Set<BouquetAtmosphere> bouquetAtmospheres,
+        Set<Usage> usages,
+        Set<DressMood> dressMoods,
+        Set<DressSilhouette> dressSilhouettes,
+        Set<WeddingColor> weddingColors,
+        Integer minPrice,
+        Integer maxPrice
+) {
+
+    public BouquetFilter {
+        seasons = copyOf(seasons);
+        bouquetAtmospheres = copyOf(bouquetAtmospheres);
+        usages = copyOf(usages);
+        dressMoods = copyOf(dressMoods);
+        dressSilhouettes = copyOf(dressSilhouettes);
+        weddingColors = copyOf(weddingColors);
+    }
+
+    /**
+     * 조건 없음 (전체 조회)
+     */
+    public static BouquetFilter none() {
+        return new BouquetFilter(null, null, null, null, null, null, null, null);
+    }
+
+    public boolean hasPriceRange() {
+        return minPrice != null || maxPrice != null;
+    }
+
+    private static <E> Set<E> copyOf(Collection<E> values) {
+        return values == null ? Set.of() : Set.copyOf(values);
+    }
+}
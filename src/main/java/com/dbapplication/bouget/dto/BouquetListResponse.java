@@ -16,6 +16,9 @@ public class BouquetListResponse {
     // 부케 목록
     private List<BouquetResponse> bouquets;
 
-    // 전체 개수 (페이징 정보용)
-    private long totalCount;
+    // 전체 개수 (페이징 정보용, with_total=false 일 때는 null)
+    private Long totalCount;
+
+    // 다음 페이지 존재 여부
+    private boolean hasNext;
 }
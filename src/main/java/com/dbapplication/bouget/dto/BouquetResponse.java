@@ -10,12 +10,13 @@ import java.util.List;
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class BouquetResponse {
 
     private Long id;
     private String name;
     private int price;
+    // 리스트 응답에서는 null (상세 또는 ?include=description 일 때만 채움)
     private String reason;
     private String description;
     private String imageUrl;
@@ -0,0 +1,28 @@
+package com.dbapplication.bouget.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CatalogImportResponse {
+
+    // 입력 형식 (CSV / NDJSON)
+    private String format;
+
+    // 저장된 부케 수
+    private int importedCount;
+
+    // 잘못된 값 때문에 건너뛴 행 수
+    private int skippedCount;
+
+    // upload-dir 로 복사한 이미지 수
+    private int imageCount;
+
+    // 걸린 시간 (ms)
+    private long elapsedMs;
+}
@@ -14,5 +14,9 @@ import java.util.List;
 public class RecommendationSessionListResponse {
 
     private List<RecommendationSessionResponse> items;
-    private long totalCount;
+    // 전체 개수 (커서 조회에서는 with_total=true 일 때만 채움)
+    private Long totalCount;
+
+    // 다음 페이지 조회용 커서 (마지막 항목 id, 더 없으면 null)
+    private Long nextCursor;
 }
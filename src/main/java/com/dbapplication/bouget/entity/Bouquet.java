@@ -1,9 +1,15 @@
 package com.dbapplication.bouget.entity;
 
+import com.dbapplication.bouget.entity.listener.CatalogEntityListener;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@EntityListeners(CatalogEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "bouquet")
 @Table(name = "bouquets")
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
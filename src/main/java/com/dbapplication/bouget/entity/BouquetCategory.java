@@ -1,10 +1,16 @@
 package com.dbapplication.bouget.entity;
 
 import com.dbapplication.bouget.entity.enums.*;
+import com.dbapplication.bouget.entity.listener.CatalogEntityListener;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@EntityListeners(CatalogEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "bouquet-category")
 @Table(name = "bouquet_categories")
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -0,0 +1,79 @@
+package com.dbapplication.bouget.entity;
+
+import com.dbapplication.bouget.entity.enums.CompositeJobStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 가상 피팅 합성 작업 큐 (apply_image 한 건당 작업 하나)
+ * - QUEUED: next_run_at 이후에 아무 노드나 가져갈 수 있음
+ * - RUNNING: lease_owner 노드가 lease_until 까지 점유 (실행 중에는 heartbeat 로 연장)
+ *   → lease_until 이 지나면 노드가 죽은 것으로 보고 다른 노드가 다시 가져감
+ * - 실패하면 attempts 에 따라 늦춰서 QUEUED 로 되돌리고, 최대 횟수를 넘으면 FAILED
+ * - 실행 결과 반영(DONE / 재시도 / FAILED)은 CompositeJobRepository 의 조건부 UPDATE 로
+ *   (lease_owner + attempts 가 가져갈 때 그대로일 때만 반영)
+ */
+@Entity
+@Table(
+        name = "composite_job",
+        indexes = {
+                @Index(name = "composite_job_index_1", columnList = "status, next_run_at"),
+                @Index(name = "composite_job_index_2", columnList = "status, lease_until")
+        }
+)
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class CompositeJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "apply_image_id", nullable = false, unique = true)
+    private Long applyImageId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    @Builder.Default
+    private CompositeJobStatus status = CompositeJobStatus.QUEUED;
+
+    // 지금까지 가져간 횟수 (lease 만료로 다시 가져간 것도 포함)
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_run_at", nullable = false)
+    private LocalDateTime nextRunAt;
+
+    @Column(name = "lease_owner", length = 64)
+    private String leaseOwner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    // ===== 상태 변경 메서드 =====
+    public void claim(String owner, LocalDateTime leaseUntil) {
+        this.status = CompositeJobStatus.RUNNING;
+        this.attempts++;
+        this.leaseOwner = owner;
+        this.leaseUntil = leaseUntil;
+    }
+
+    public void markFailed(String error) {
+        this.status = CompositeJobStatus.FAILED;
+        this.leaseOwner = null;
+        this.leaseUntil = null;
+        this.lastError = error;
+    }
+}
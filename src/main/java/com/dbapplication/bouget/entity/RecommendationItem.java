@@ -22,8 +22,17 @@ import java.time.LocalDateTime;
 @Builder
 public class RecommendationItem {
 
+    // IDENTITY 는 Hibernate 배치 insert 를 막기 때문에 id_generator 테이블에서 50개씩 받아서 사용
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "recommendation_item_id")
+    @TableGenerator(
+            name = "recommendation_item_id",
+            table = "id_generator",
+            pkColumnName = "sequence_name",
+            valueColumnName = "next_val",
+            pkColumnValue = "recommendation_items",
+            allocationSize = 50
+    )
     private Long id;
 
     // FK: session_id
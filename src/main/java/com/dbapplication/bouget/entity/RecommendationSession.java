@@ -15,6 +15,8 @@ import java.time.LocalDateTime;
 @Builder
 public class RecommendationSession {
 
+    // 히스토리 최신순 정렬/커서(id < cursor)가 id 순서 = 생성 순서에 기대므로 IDENTITY 유지
+    // (노드별로 블록을 받아가는 테이블 생성기를 쓰면 여러 노드/재시작 사이에 순서가 뒤섞임)
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
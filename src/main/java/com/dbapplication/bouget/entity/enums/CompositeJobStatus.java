@@ -0,0 +1,5 @@
+package com.dbapplication.bouget.entity.enums;
+
+public enum CompositeJobStatus {
+    QUEUED, RUNNING, DONE, FAILED
+}
@@ -0,0 +1,43 @@
+package com.dbapplication.bouget.entity.listener;
+
+import com.dbapplication.bouget.entity.Bouquet;
+import com.dbapplication.bouget.entity.BouquetCategory;
+import com.dbapplication.bouget.entity.Store;
+import com.dbapplication.bouget.service.CatalogChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * 카탈로그 엔티티(Bouquet, BouquetCategory, Store) 쓰기 감지용 JPA 리스너
+ * - insert/update/delete 후 CatalogChangedEvent 발행 (어느 부케가 바뀌었는지 같이 전달)
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onCatalogWrite(Object entity) {
+        eventPublisher.publishEvent(new CatalogChangedEvent(entity.getClass().getSimpleName(), bouquetIdOf(entity)));
+    }
+
+    private static Long bouquetIdOf(Object entity) {
+        if (entity instanceof Bouquet bouquet) {
+            return bouquet.getId();
+        }
+        if (entity instanceof BouquetCategory category && category.getBouquet() != null) {
+            return category.getBouquet().getId();
+        }
+        if (entity instanceof Store store && store.getBouquet() != null) {
+            return store.getBouquet().getId();
+        }
+        return null;
+    }
+}
@@ -4,8 +4,31 @@ import com.dbapplication.bouget.entity.ApplyImage;
 import com.dbapplication.bouget.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface ApplyImageRepository extends JpaRepository<ApplyImage, Long> {
         Page<ApplyImage> findByUser(User user, Pageable pageable);
+
+        // 커서 기반 조회: cursor(id) 보다 작은 것부터 (count 쿼리 없음)
+        Slice<ApplyImage> findByUserAndIdLessThan(User user, Long cursor, Pageable pageable);
+
+        long countByUser(User user);
+
+        /**
+         * since 이후 가상 피팅이 많았던 부케 ID (많은 순, 부케 이미지 캐시 미리 채우기용)
+         */
+        @Query("""
+            select ai.bouquet.id
+            from ApplyImage ai
+            where ai.createdAt >= :since
+            group by ai.bouquet.id
+            order by count(ai) desc
+            """)
+        List<Long> findMostAppliedBouquetIds(@Param("since") LocalDateTime since, Pageable pageable);
 }
@@ -2,40 +2,26 @@ package com.dbapplication.bouget.repository;
 
 import com.dbapplication.bouget.entity.Bouquet;
 import com.dbapplication.bouget.entity.BouquetCategory;
-import com.dbapplication.bouget.entity.enums.BouquetAtmosphere;
-import com.dbapplication.bouget.entity.enums.Season;
-import com.dbapplication.bouget.entity.enums.Usage;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
 import java.util.List;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 public interface BouquetCategoryRepository extends JpaRepository<BouquetCategory, Long> {
 
     /**
-     * 필터(시즌, 분위기, 용도)에 맞는 부케 목록 조회.
-     * - 파라미터가 null이면 해당 조건은 무시
-     * - distinct로 부케 중복 제거
+     * 특정 부케에 연결된 카테고리 전부 조회 (상세 화면에서 사용)
+     * - 쿼리 캐시 → 결과 ID로 2차 캐시에서 엔티티 조회 (카테고리 테이블이 바뀌면 자동 무효화)
      */
-    @Query("""
-        select distinct bc.bouquet
-        from BouquetCategory bc
-        where (:season is null or bc.season = :season)
-          and (:bouquetAtmosphere is null or bc.bouquetAtmosphere = :bouquetAtmosphere)
-          and (:usage is null or bc.usage = :usage)
-        """)
-    Page<Bouquet> findDistinctBouquetsByFilters(
-            @Param("season") Season season,
-            @Param("bouquetAtmosphere") BouquetAtmosphere bouquetAtmosphere,
-            @Param("usage") Usage usage,
-            Pageable pageable
-    );
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    BouquetCategory findByBouquet(Bouquet bouquet);
 
     /**
-     * 특정 부케에 연결된 카테고리 전부 조회 (상세 화면에서 사용)
+     * 여러 부케의 카테고리를 IN 쿼리 한 번으로 조회 (목록 응답 N+1 방지)
      */
-    BouquetCategory findByBouquet(Bouquet bouquet);
+    List<BouquetCategory> findByBouquetIn(Collection<Bouquet> bouquets);
 }
@@ -0,0 +1,31 @@
+package com.dbapplication.bouget.repository;
+
+import com.dbapplication.bouget.entity.enums.*;
+
+/**
+ * 부케 상세 화면용 프로젝션
+ * - 부케 + 카테고리 + 스토어를 한 번의 쿼리로 읽어 담는다 (엔티티/지연 로딩 없음)
+ * - 카테고리나 스토어가 없으면 해당 컬럼들은 전부 null
+ */
+public record BouquetDetailRow(
+        Long bouquetId,
+        String name,
+        int price,
+        String reason,
+        String description,
+        String imageUrl,
+
+        Long categoryId,
+        Season season,
+        DressMood dressMood,
+        DressSilhouette dressSilhouette,
+        WeddingColor weddingColor,
+        BouquetAtmosphere bouquetAtmosphere,
+        Usage usage,
+
+        Long storeId,
+        String storeName,
+        String storeUrl,
+        String instagramId
+) {
+}
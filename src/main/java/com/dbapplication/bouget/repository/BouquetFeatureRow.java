@@ -0,0 +1,19 @@
+package com.dbapplication.bouget.repository;
+
+import com.dbapplication.bouget.entity.enums.*;
+
+/**
+ * 추천 인덱스 빌드용 경량 프로젝션
+ * - 부케 ID + 카테고리 enum 값만 담는다 (reason/description 같은 LOB 컬럼 제외)
+ * - 카테고리가 없는 부케면 enum 값들은 전부 null
+ */
+public record BouquetFeatureRow(
+        Long bouquetId,
+        Season season,
+        DressMood dressMood,
+        DressSilhouette dressSilhouette,
+        WeddingColor weddingColor,
+        BouquetAtmosphere bouquetAtmosphere,
+        Usage usage
+) {
+}
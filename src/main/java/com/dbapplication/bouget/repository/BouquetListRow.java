@@ -0,0 +1,24 @@
+package com.dbapplication.bouget.repository;
+
+import com.dbapplication.bouget.entity.enums.*;
+
+/**
+ * 부케 리스트/추천/히스토리용 경량 프로젝션
+ * - reason/description 같은 LOB 컬럼은 빼고 카드에 필요한 값 + 카테고리만 담는다
+ * - 카테고리가 없는 부케면 카테고리 컬럼들은 전부 null
+ */
+public record BouquetListRow(
+        Long bouquetId,
+        String name,
+        int price,
+        String imageUrl,
+
+        Long categoryId,
+        Season season,
+        DressMood dressMood,
+        DressSilhouette dressSilhouette,
+        WeddingColor weddingColor,
+        BouquetAtmosphere bouquetAtmosphere,
+        Usage usage
+) {
+}
@@ -1,10 +1,139 @@
 package com.dbapplication.bouget.repository;
 
 import com.dbapplication.bouget.entity.Bouquet;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
 @Repository
 public interface BouquetRepository extends JpaRepository<Bouquet, Long> {
 
+    /**
+     * 추천 인덱스 빌드용 조회
+     * - 부케 ID + 카테고리 enum 값만 한 번의 쿼리로 가져온다
+     * - 카테고리가 없는 부케도 포함 (left join)
+     * - 카테고리가 여러 개면 bc.id 순 → 호출 쪽이 쓰는 "첫 행" 이 findAllListRows 와 같은 카테고리
+     * - MySQL 행 단위 스트리밍(fetchSize = Integer.MIN_VALUE) → 카탈로그가 커도 결과를 한 번에 메모리에 올리지 않음
+     * - 반드시 트랜잭션 안에서 소비하고 닫아야 한다
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("""
+        select new com.dbapplication.bouget.repository.BouquetFeatureRow(
+            b.id, bc.season, bc.dressMood, bc.dressSilhouette,
+            bc.weddingColor, bc.bouquetAtmosphere, bc.usage)
+        from Bouquet b
+        left join BouquetCategory bc on bc.bouquet = b
+        order by b.id, bc.id
+        """)
+    Stream<BouquetFeatureRow> streamAllFeatureRows();
+
+    /**
+     * 카탈로그 스냅샷 빌드용 리스트 프로젝션 (LOB 컬럼 제외, 카테고리는 left join)
+     * - 카테고리가 여러 개 붙은 부케면 행이 여러 개 → 호출 쪽에서 첫 행만 사용
+     */
+    @Query("""
+        select new com.dbapplication.bouget.repository.BouquetListRow(
+            b.id, b.name, b.price, b.imageUrl,
+            bc.id, bc.season, bc.dressMood, bc.dressSilhouette,
+            bc.weddingColor, bc.bouquetAtmosphere, bc.usage)
+        from Bouquet b
+        left join BouquetCategory bc on bc.bouquet = b
+        order by b.id, bc.id
+        """)
+    List<BouquetListRow> findAllListRows();
+
+    /**
+     * 지정한 부케들만 리스트 프로젝션으로 조회 (추천 아이템 등, IN 쿼리 한 번)
+     */
+    @Query("""
+        select new com.dbapplication.bouget.repository.BouquetListRow(
+            b.id, b.name, b.price, b.imageUrl,
+            bc.id, bc.season, bc.dressMood, bc.dressSilhouette,
+            bc.weddingColor, bc.bouquetAtmosphere, bc.usage)
+        from Bouquet b
+        left join BouquetCategory bc on bc.bouquet = b
+        where b.id in :bouquetIds
+        order by b.id, bc.id
+        """)
+    List<BouquetListRow> findListRowsByIdIn(@Param("bouquetIds") Collection<Long> bouquetIds);
+
+    /**
+     * 지정한 부케들의 설명 텍스트(LOB)만 조회 (리스트 ?include=description 용)
+     */
+    @Query("""
+        select new com.dbapplication.bouget.repository.BouquetTextRow(b.id, b.reason, b.description)
+        from Bouquet b
+        where b.id in :bouquetIds
+        """)
+    List<BouquetTextRow> findTextRowsByIdIn(@Param("bouquetIds") Collection<Long> bouquetIds);
+
+    /**
+     * 검색 인덱스 전체 빌드용 (부케 ID + 이름/추천 이유/설명)
+     * - LOB 컬럼을 읽으므로 행 단위 스트리밍 (fetchSize = Integer.MIN_VALUE), 트랜잭션 안에서 소비 후 닫아야 한다
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("""
+        select new com.dbapplication.bouget.repository.BouquetSearchRow(b.id, b.name, b.reason, b.description)
+        from Bouquet b
+        order by b.id
+        """)
+    Stream<BouquetSearchRow> streamAllSearchRows();
+
+    /**
+     * 검색 인덱스 부분 갱신용 (바뀐 부케들만)
+     */
+    @Query("""
+        select new com.dbapplication.bouget.repository.BouquetSearchRow(b.id, b.name, b.reason, b.description)
+        from Bouquet b
+        where b.id in :bouquetIds
+        """)
+    List<BouquetSearchRow> findSearchRowsByIdIn(@Param("bouquetIds") Collection<Long> bouquetIds);
+
+    /**
+     * 부케 상세 조회용 (부케 + 카테고리 + 스토어를 쿼리 한 번으로)
+     * - 카테고리/스토어가 여러 개 붙은 부케면 행이 여러 개 → 호출 쪽에서 첫 행만 사용
+     * - 부케가 없으면 빈 리스트
+     */
+    @Query("""
+        select new com.dbapplication.bouget.repository.BouquetDetailRow(
+            b.id, b.name, b.price, b.reason, b.description, b.imageUrl,
+            bc.id, bc.season, bc.dressMood, bc.dressSilhouette,
+            bc.weddingColor, bc.bouquetAtmosphere, bc.usage,
+            s.id, s.storeName, s.storeUrl, s.instagramId)
+        from Bouquet b
+        left join BouquetCategory bc on bc.bouquet = b
+        left join Store s on s.bouquet = b
+        where b.id = :bouquetId
+        order by bc.id, s.id
+        """)
+    List<BouquetDetailRow> findDetailRows(@Param("bouquetId") Long bouquetId);
+
+    /**
+     * 카탈로그 전체 내보내기용 (부케 + 카테고리 + 스토어, 상세 프로젝션)
+     * - 프로젝션이라 영속성 컨텍스트에 엔티티가 쌓이지 않음 + 행 단위 스트리밍 (fetchSize = Integer.MIN_VALUE)
+     * - 부케 ID 순, 카테고리/스토어가 여러 개면 행이 여러 개 → 호출 쪽에서 첫 행만 사용
+     * - 트랜잭션 안에서 소비 후 닫아야 한다
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("""
+        select new com.dbapplication.bouget.repository.BouquetDetailRow(
+            b.id, b.name, b.price, b.reason, b.description, b.imageUrl,
+            bc.id, bc.season, bc.dressMood, bc.dressSilhouette,
+            bc.weddingColor, bc.bouquetAtmosphere, bc.usage,
+            s.id, s.storeName, s.storeUrl, s.instagramId)
+        from Bouquet b
+        left join BouquetCategory bc on bc.bouquet = b
+        left join Store s on s.bouquet = b
+        order by b.id, bc.id, s.id
+        """)
+    Stream<BouquetDetailRow> streamAllDetailRows();
 }
@@ -0,0 +1,12 @@
+package com.dbapplication.bouget.repository;
+
+/**
+ * 검색 인덱스 빌드용 프로젝션 (부케 ID + 검색 대상 텍스트)
+ */
+public record BouquetSearchRow(
+        Long bouquetId,
+        String name,
+        String reason,
+        String description
+) {
+}
@@ -0,0 +1,12 @@
+package com.dbapplication.bouget.repository;
+
+/**
+ * 부케 설명 텍스트(LOB) 프로젝션
+ * - 리스트에서 ?include=description 으로 요청했을 때만 현재 페이지 부케들 것만 조회
+ */
+public record BouquetTextRow(
+        Long bouquetId,
+        String reason,
+        String description
+) {
+}
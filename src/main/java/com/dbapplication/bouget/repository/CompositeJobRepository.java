@@ -0,0 +1,121 @@
+package com.dbapplication.bouget.repository;
+
+import com.dbapplication.bouget.entity.CompositeJob;
+import com.dbapplication.bouget.entity.enums.CompositeJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface CompositeJobRepository extends JpaRepository<CompositeJob, Long> {
+
+    /**
+     * 실행 시각이 된 대기 작업을 잠그고 가져오기 (트랜잭션 안에서 호출)
+     * - (status, next_run_at) 인덱스 범위를 순서대로 읽고 limit 개에서 멈춤 → filesort 없이 필요한 행만 잠금
+     * - SKIP LOCKED: 다른 노드가 잠근 행은 기다리지 않고 건너뜀 → 여러 노드가 같은 작업을 가져가지 않음
+     */
+    @Query(value = """
+        SELECT * FROM composite_job
+        WHERE status = 'QUEUED' AND next_run_at <= :now
+        ORDER BY next_run_at
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<CompositeJob> lockQueued(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * lease 가 만료된 실행 중 작업(노드가 죽은 경우)을 잠그고 가져오기 (트랜잭션 안에서 호출)
+     * - (status, lease_until) 인덱스 사용, 나머지는 lockQueued 와 같음
+     */
+    @Query(value = """
+        SELECT * FROM composite_job
+        WHERE status = 'RUNNING' AND lease_until < :now
+        ORDER BY lease_until
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<CompositeJob> lockExpiredLeases(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * 이 노드가 실행 중인 작업들의 lease 연장 (heartbeat)
+     * - 이미 다른 노드가 가져간 작업(lease_owner 가 다름)은 건드리지 않음
+     */
+    @Modifying
+    @Query("""
+        update CompositeJob j
+        set j.leaseUntil = :leaseUntil
+        where j.id in :ids
+          and j.leaseOwner = :owner
+          and j.status = com.dbapplication.bouget.entity.enums.CompositeJobStatus.RUNNING
+        """)
+    int extendLeases(@Param("ids") Collection<Long> ids,
+                     @Param("owner") String owner,
+                     @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * 성공 처리 (조건부 UPDATE)
+     * - 가져갈 때의 lease_owner/attempts 가 그대로일 때만 바뀜 → 그 사이 lease 를 잃고 다른 노드(또는 재시도)가 가져갔으면 0
+     */
+    @Modifying
+    @Query("""
+        update CompositeJob j
+        set j.status = com.dbapplication.bouget.entity.enums.CompositeJobStatus.DONE,
+            j.leaseOwner = null,
+            j.leaseUntil = null
+        where j.id = :id
+          and j.leaseOwner = :owner
+          and j.attempts = :attempts
+          and j.status = com.dbapplication.bouget.entity.enums.CompositeJobStatus.RUNNING
+        """)
+    int completeOwned(@Param("id") Long id,
+                      @Param("owner") String owner,
+                      @Param("attempts") int attempts);
+
+    /**
+     * 실패 후 다시 대기 (조건은 completeOwned 와 같음)
+     */
+    @Modifying
+    @Query("""
+        update CompositeJob j
+        set j.status = com.dbapplication.bouget.entity.enums.CompositeJobStatus.QUEUED,
+            j.nextRunAt = :nextRunAt,
+            j.leaseOwner = null,
+            j.leaseUntil = null,
+            j.lastError = :error
+        where j.id = :id
+          and j.leaseOwner = :owner
+          and j.attempts = :attempts
+          and j.status = com.dbapplication.bouget.entity.enums.CompositeJobStatus.RUNNING
+        """)
+    int retryOwned(@Param("id") Long id,
+                   @Param("owner") String owner,
+                   @Param("attempts") int attempts,
+                   @Param("nextRunAt") LocalDateTime nextRunAt,
+                   @Param("error") String error);
+
+    /**
+     * 최종 실패 (조건은 completeOwned 와 같음)
+     */
+    @Modifying
+    @Query("""
+        update CompositeJob j
+        set j.status = com.dbapplication.bouget.entity.enums.CompositeJobStatus.FAILED,
+            j.leaseOwner = null,
+            j.leaseUntil = null,
+            j.lastError = :error
+        where j.id = :id
+          and j.leaseOwner = :owner
+          and j.attempts = :attempts
+          and j.status = com.dbapplication.bouget.entity.enums.CompositeJobStatus.RUNNING
+        """)
+    int failOwned(@Param("id") Long id,
+                  @Param("owner") String owner,
+                  @Param("attempts") int attempts,
+                  @Param("error") String error);
+
+    long countByStatus(CompositeJobStatus status);
+}
@@ -4,9 +4,15 @@ import com.dbapplication.bouget.entity.Inquiry;
 import com.dbapplication.bouget.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface InquiryRepository extends JpaRepository<Inquiry, Long> {
 
     Page<Inquiry> findByUser(User user, Pageable pageable);
+
+    // 커서 기반 조회: cursor(id) 보다 작은 것부터 (count 쿼리 없음)
+    Slice<Inquiry> findByUserAndIdLessThan(User user, Long cursor, Pageable pageable);
+
+    long countByUser(User user);
 }
@@ -3,10 +3,25 @@ package com.dbapplication.bouget.repository;
 import com.dbapplication.bouget.entity.RecommendationItem;
 import com.dbapplication.bouget.entity.RecommendationSession;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface RecommendationItemRepository extends JpaRepository<RecommendationItem, Long> {
 
     List<RecommendationItem> findBySession(RecommendationSession session);
+
+    /**
+     * 여러 세션의 추천 아이템을 한 번에 조회 (히스토리 N+1 방지)
+     * - 부케는 fetch 하지 않음 (LOB 컬럼 제외하고 리스트 프로젝션으로 따로 조회)
+     */
+    @Query("""
+        select i
+        from RecommendationItem i
+        where i.session in :sessions
+        order by i.id
+        """)
+    List<RecommendationItem> findBySessionIn(@Param("sessions") Collection<RecommendationSession> sessions);
 }
@@ -4,10 +4,16 @@ import com.dbapplication.bouget.entity.RecommendationSession;
 import com.dbapplication.bouget.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface RecommendationSessionRepository extends JpaRepository<RecommendationSession, Long> {
     Page<RecommendationSession> findByUser(User user, Pageable pageable);
+
+    // 커서 기반 조회: cursor(id) 보다 작은 것부터 (count 쿼리 없음)
+    Slice<RecommendationSession> findByUserAndIdLessThan(User user, Long cursor, Pageable pageable);
+
+    long countByUser(User user);
 }
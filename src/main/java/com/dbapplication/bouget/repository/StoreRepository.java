@@ -2,10 +2,17 @@ package com.dbapplication.bouget.repository;
 
 import com.dbapplication.bouget.entity.Bouquet;
 import com.dbapplication.bouget.entity.Store;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
-import java.util.List;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
 
 public interface StoreRepository extends JpaRepository<Store, Long> {
+
+    /**
+     * 부케의 스토어 조회 (쿼리 캐시 → 결과 ID로 2차 캐시에서 엔티티 조회)
+     */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Store findByBouquet(Bouquet bouquet);
 }
@@ -1,25 +1,26 @@
 package com.dbapplication.bouget.service;
 
 import com.dbapplication.bouget.dto.ApplyImageResponse;
-import com.dbapplication.bouget.dto.BouquetCategoryResponse;
 import com.dbapplication.bouget.dto.BouquetResponse;
 import com.dbapplication.bouget.entity.ApplyImage;
 import com.dbapplication.bouget.entity.Bouquet;
-import com.dbapplication.bouget.entity.BouquetCategory;
 import com.dbapplication.bouget.entity.RecommendationSession;
 import com.dbapplication.bouget.entity.User;
 import com.dbapplication.bouget.entity.enums.ApplyStatus;
 import com.dbapplication.bouget.repository.ApplyImageRepository;
-import com.dbapplication.bouget.repository.BouquetCategoryRepository;
 import com.dbapplication.bouget.repository.BouquetRepository;
 import com.dbapplication.bouget.repository.RecommendationSessionRepository;
 import com.dbapplication.bouget.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.stereotype.Service;
@@ -27,17 +28,20 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.io.IOException;
-import java.io.InputStream;
-import java.net.URL;
+import java.net.URI;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Service
@@ -48,25 +52,26 @@ public class ApplyImageService {
     private final BouquetRepository bouquetRepository;
     private final RecommendationSessionRepository sessionRepository;
     private final ApplyImageRepository applyImageRepository;
-    private final BouquetCategoryRepository bouquetCategoryRepository;
+    private final BouquetResponseAssembler bouquetResponseAssembler;
+    private final CompositeJobQueue compositeJobQueue;
+    private final CompositeJobExecutor compositeJobExecutor;
+    private final BouquetImageCache bouquetImageCache;
     private final WebClient fastapiWebClient;
 
     @Value("${file.upload-dir}")
     private String uploadDir;
 
-    // ★ 추가: 서버 베이스 URL (예: http://52.78.57.66:8080)
-    @Value("${app.server-base-url}")
-    private String serverBaseUrl;
-
     /**
      * 이미지 적용 생성 플로우
      * 1) 유저 / 부케 / 세션 조회
      * 2) 유저 이미지 서버에 저장 → srcImageUrl
-     * 3) 부케 이미지 바이트 가져오기
-     * 4) FastAPI /api/composite-bouquet 호출 (multipart)
+     * 3) ApplyImage(PENDING) 저장 + 합성 작업을 DB 큐(composite_job)에 추가 (같은 트랜잭션)
+     * 이후는 아무 노드의 CompositeJobWorker 가 composite 로 처리
+     * 4) 유저/부케 이미지 읽기 → FastAPI /api/composite-bouquet 호출 (multipart)
      * 5) FastAPI result_image_url 로 결과 이미지 다운로드 → 우리 서버에 저장 → genImageUrl
-     * 6) ApplyImage 엔티티 저장
+     * 6) 작업/ApplyImage DONE (실패하면 backoff 후 재시도, 횟수 초과 시 FAILED)
      */
+    @Transactional
     public ApplyImageResponse createApplyImage(
             Long userId,
             Long bouquetId,
@@ -102,8 +107,8 @@ public class ApplyImageService {
 
             ApplyImage saved = applyImageRepository.save(applyImage);
 
-            // 4. 비동기로 합성 작업 시작
-            startCompositeAsync(saved.getId(), bouquet.getId(), srcImageUrl);
+            // 4. 합성 작업을 DB 큐에 추가 (같은 트랜잭션, 커밋 후 아무 노드의 CompositeJobWorker 가 가져감)
+            compositeJobQueue.enqueue(saved.getId());
 
             // 5. 바로 응답 (status = PENDING, genImageUrl = null로 내려감)
             return toResponse(saved);
@@ -113,52 +118,24 @@ public class ApplyImageService {
             throw new RuntimeException("이미지 처리 중 오류가 발생했습니다.", e);
         }
     }
-    private void startCompositeAsync(Long applyImageId, Long bouquetId, String srcImageUrl) {
-        CompletableFuture.runAsync(() -> {
-            try {
-                log.info("Async composite start. applyImageId={}, bouquetId={}", applyImageId, bouquetId);
-
-                ApplyImage applyImage = applyImageRepository.findById(applyImageId)
-                        .orElseThrow(() -> new IllegalArgumentException("ApplyImage not found. id=" + applyImageId));
-
-                Bouquet bouquet = bouquetRepository.findById(bouquetId)
-                        .orElseThrow(() -> new IllegalArgumentException("Bouquet not found. id=" + bouquetId));
-
-                // 1) 유저 이미지: 우리가 저장해둔 파일에서 다시 읽기
-                byte[] userImageBytes = loadSrcImageBytes(applyImage.getSrcImageUrl());
-                String userFilename = extractFilenameFromImageUrl(applyImage.getSrcImageUrl());
-
-                // 2) 부케 이미지: 기존 방식 그대로
-                byte[] bouquetBytes = loadBouquetImageBytes(bouquet);
-
-                // 3) FastAPI 호출 (이제 MultipartFile 말고 byte[] 기반)
-                String resultImageUrlFromFastApi =
-                        callFastApiComposite(userImageBytes, userFilename, bouquetBytes);
-
-                // 4) 결과 이미지 저장
-                String genImageUrl = downloadAndSaveGeneratedImage(resultImageUrlFromFastApi);
-
-                // 5) 상태 DONE 처리
-                applyImage.markDone(genImageUrl);
-                applyImageRepository.save(applyImage);
-
-                log.info("Async composite done. applyImageId={}, genImageUrl={}", applyImageId, genImageUrl);
-
-            } catch (Exception e) {
-                log.error("Async composite failed. applyImageId=" + applyImageId, e);
-                try {
-                    applyImageRepository.findById(applyImageId).ifPresent(ai -> {
-                        ai.markFailed();
-                        applyImageRepository.save(ai);
-                    });
-                } catch (Exception ex) {
-                    log.error("Failed to mark ApplyImage as FAILED. id=" + applyImageId, ex);
-                }
-            }
-        });
+    /**
+     * 합성 작업 본체 (CompositeJobWorker 가 구독)
+     * - DB 조회만 blockingScheduler 에서 하고, FastAPI 호출 / 결과 다운로드·저장은 논블로킹
+     *   → 진행 중인 작업이 많아도 작업마다 스레드를 붙잡지 않음
+     * - 유저 이미지는 메모리에 올리지 않고 디스크에서 바로 multipart 로 흘려보냄
+     *   → 작업당 힙 사용량이 이미지 크기(업로드 최대 50MB)와 상관없이 일정
+     * - 부케 이미지는 BouquetImageCache(off-heap) 에서 복사 없이 보냄
+     * - 실패하면 에러 신호로 끝나고, 재시도/FAILED 처리는 CompositeJobQueue 가 담당
+     *
+     * @return 저장된 결과 이미지 URL ("/images/apply/gen/xxxx.png")
+     */
+    public Mono<String> composite(Long applyImageId) {
+        return Mono.fromCallable(() -> loadCompositeSource(applyImageId))
+                .subscribeOn(compositeJobExecutor.blockingScheduler())
+                .flatMap(source -> callFastApiComposite(source.userImage(), source.userFilename(), source.bouquetImage()))
+                .flatMap(this::downloadAndSaveGeneratedImage);
     }
 
-
     @Transactional(readOnly = true)
     public Page<ApplyImageResponse> getApplyImagesByUser(Long userId, Pageable pageable) {
         // 유저 검증 (존재하지 않는 유저 방지)
@@ -168,8 +145,30 @@ public class ApplyImageService {
         // 유저의 ApplyImage 페이지 조회
         Page<ApplyImage> page = applyImageRepository.findByUser(user, pageable);
 
-        // 엔티티 → 응답 DTO 로 매핑
-        return page.map(this::toResponse);
+        // 엔티티 → 응답 DTO 로 매핑 (부케는 IN 쿼리 한 번)
+        Map<Long, BouquetResponse> bouquetsById = loadBouquetResponses(page.getContent());
+        return page.map(entity -> toResponse(entity, bouquetsById));
+    }
+
+    /**
+     * 유저의 ApplyImage 조회 (커서 기반)
+     * - cursor(마지막으로 받은 id) 보다 작은 것부터, count 쿼리 없음
+     */
+    @Transactional(readOnly = true)
+    public Slice<ApplyImageResponse> getApplyImagesByUserBefore(Long userId, Long cursor, Pageable pageable) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found. id=" + userId));
+
+        Slice<ApplyImage> slice = applyImageRepository.findByUserAndIdLessThan(user, cursor, pageable);
+        Map<Long, BouquetResponse> bouquetsById = loadBouquetResponses(slice.getContent());
+        return slice.map(entity -> toResponse(entity, bouquetsById));
+    }
+
+    @Transactional(readOnly = true)
+    public long countApplyImagesByUser(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found. id=" + userId));
+        return applyImageRepository.countByUser(user);
     }
 
     /**
@@ -198,33 +197,24 @@ public class ApplyImageService {
         return "/images/" + relativePath.replace("\\", "/");
     }
 
-    private byte[] loadBouquetImageBytes(Bouquet bouquet) throws IOException {
-        String bouquetImageUrl = bouquet.getImageUrl();
-
-        if (bouquetImageUrl == null || bouquetImageUrl.isBlank()) {
-            throw new IllegalStateException("Bouquet image URL is empty. bouquetId=" + bouquet.getId());
-        }
-
-        // ★ 여기서 '/images/...' 또는 'http://.../images/...' 둘 다 처리
-        String pathPart = bouquetImageUrl;
-
-        // 절대 URL로 저장되어 있다면 '/images/...' 부분만 추출
-        if (pathPart.startsWith("http://") || pathPart.startsWith("https://")) {
-            int idx = pathPart.indexOf("/images/");
-            if (idx == -1) {
-                throw new IllegalStateException("Bouquet image URL must contain /images/. url=" + bouquetImageUrl);
-            }
-            pathPart = pathPart.substring(idx); // "/images/..."
-        }
+    /**
+     * 합성 입력 준비 (블로킹: DB 조회, 캐시에 없는 부케 이미지 읽기)
+     */
+    private CompositeSource loadCompositeSource(Long applyImageId) throws IOException {
+        ApplyImage applyImage = applyImageRepository.findById(applyImageId)
+                .orElseThrow(() -> new IllegalArgumentException("ApplyImage not found. id=" + applyImageId));
 
-        if (!pathPart.startsWith("/images/")) {
-            throw new IllegalStateException("Bouquet image URL must start with /images/. url=" + bouquetImageUrl);
-        }
+        Long bouquetId = applyImage.getBouquet().getId();
+        Bouquet bouquet = bouquetRepository.findById(bouquetId)
+                .orElseThrow(() -> new IllegalArgumentException("Bouquet not found. id=" + bouquetId));
 
-        String relative = pathPart.substring("/images/".length()); // "bouquets/bouquet000.png"
-        Path path = Paths.get(uploadDir, relative);
-        return Files.readAllBytes(path);
+        return new CompositeSource(
+                resolveSrcImagePath(applyImage.getSrcImageUrl()),
+                extractFilenameFromImageUrl(applyImage.getSrcImageUrl()),
+                bouquetImageCache.get(bouquet.getId(), bouquet.getImageUrl())
+        );
     }
+
     private MediaType resolveImageMediaType(String filename, String contentType) {
         if (contentType != null && !contentType.isBlank()) {
             return MediaType.parseMediaType(contentType);
@@ -242,7 +232,7 @@ public class ApplyImageService {
         // 그래도 모르겠으면 PNG 하나로 통일해도 됨
         return MediaType.IMAGE_PNG;
     }
-    private byte[] loadSrcImageBytes(String srcImageUrl) throws IOException {
+    private Path resolveSrcImagePath(String srcImageUrl) {
         if (srcImageUrl == null || srcImageUrl.isBlank()) {
             throw new IllegalStateException("srcImageUrl is empty");
         }
@@ -263,8 +253,7 @@ public class ApplyImageService {
         }
 
         String relative = pathPart.substring("/images/".length()); // "apply/src/xxxx.png"
-        Path path = Paths.get(uploadDir, relative);
-        return Files.readAllBytes(path);
+        return Paths.get(uploadDir, relative);
     }
 
     private String extractFilenameFromImageUrl(String imageUrl) {
@@ -278,10 +267,15 @@ public class ApplyImageService {
         return "user.png";
     }
 
-    private String callFastApiComposite(
-            byte[] userImageBytes,
+    /**
+     * FastAPI 합성 호출 (multipart)
+     * - user_image 는 FileSystemResource 라 전송할 때 파일을 조각(DataBuffer)으로 읽어 바로 내보냄 (byte[] 로 모으지 않음)
+     * - bouquet_image 는 캐시의 off-heap 버퍼를 DataBuffer 로 감싸서 그대로 보냄
+     */
+    private Mono<String> callFastApiComposite(
+            Path userImagePath,
             String userFilename,
-            byte[] bouquetImageBytes
+            ByteBuffer bouquetImage
     ) {
         MultipartBodyBuilder bodyBuilder = new MultipartBodyBuilder();
 
@@ -291,32 +285,19 @@ public class ApplyImageService {
 
         MediaType userMediaType = resolveImageMediaType(userFilename, null);
 
-        // user_image
-        String finalUserFilename = userFilename;
-        ByteArrayResource userResource = new ByteArrayResource(userImageBytes) {
-            @Override
-            public String getFilename() {
-                return finalUserFilename;
-            }
-        };
-
-        bodyBuilder.part("user_image", userResource)
+        // user_image (filename 은 디스크 파일명 대신 원래 저장할 때 쓴 이름으로)
+        bodyBuilder.part("user_image", new FileSystemResource(userImagePath))
                 .filename(userFilename)
                 .contentType(userMediaType);
 
-        // bouquet_image (기존이랑 동일)
-        ByteArrayResource bouquetResource = new ByteArrayResource(bouquetImageBytes) {
-            @Override
-            public String getFilename() {
-                return "bouquet.png";
-            }
-        };
-
-        bodyBuilder.part("bouquet_image", bouquetResource)
+        // bouquet_image (구독할 때마다 새 뷰로 감싸서 다시 보내도 처음부터 읽히도록)
+        bodyBuilder.asyncPart("bouquet_image",
+                        Mono.fromSupplier(() -> DefaultDataBufferFactory.sharedInstance.wrap(bouquetImage.duplicate())),
+                        DataBuffer.class)
                 .filename("bouquet.png")
                 .contentType(MediaType.IMAGE_PNG);
 
-        FastApiCompositeResponse fastRes = fastapiWebClient.post()
+        return fastapiWebClient.post()
                 .uri("/api/composite-bouquet")
                 .contentType(MediaType.MULTIPART_FORM_DATA)
                 .body(BodyInserters.fromMultipartData(bodyBuilder.build()))
@@ -329,37 +310,58 @@ public class ApplyImageService {
                                 .flatMap(errorBody -> {
                                     log.error("[FastAPI ERROR] status={}, body={}",
                                             response.statusCode(), errorBody);
-                                    return reactor.core.publisher.Mono.error(
+                                    return Mono.error(
                                             new RuntimeException("FastAPI error: " + response.statusCode()
                                                     + " body=" + errorBody)
                                     );
                                 });
                     }
                 })
-                .block();
-
-        if (fastRes == null || fastRes.result_image_url() == null || fastRes.result_image_url().isBlank()) {
-            throw new IllegalStateException("FastAPI result_image_url is null or empty");
-        }
-
-        log.info("FastAPI composite result url = {}", fastRes.result_image_url());
-        return fastRes.result_image_url();
+                .filter(fastRes -> fastRes.result_image_url() != null && !fastRes.result_image_url().isBlank())
+                .switchIfEmpty(Mono.error(new IllegalStateException("FastAPI result_image_url is null or empty")))
+                .map(fastRes -> {
+                    log.info("FastAPI composite result url = {}", fastRes.result_image_url());
+                    return fastRes.result_image_url();
+                });
     }
 
-
-
-    private String downloadAndSaveGeneratedImage(String resultImageUrl) throws IOException {
+    /**
+     * 결과 이미지 다운로드 → 우리 서버에 저장
+     * - 응답 DataBuffer 를 받는 대로 AsynchronousFileChannel 에 씀 (이미지 전체를 메모리에 모으지 않음)
+     * - 중간에 실패하면 쓰다 만 파일은 지움
+     */
+    private Mono<String> downloadAndSaveGeneratedImage(String resultImageUrl) {
         String filename = UUID.randomUUID() + ".png";
         Path savePath = Paths.get(uploadDir, "apply", "gen", filename);
-        Files.createDirectories(savePath.getParent());
 
-        try (InputStream in = new URL(resultImageUrl).openStream()) {
-            Files.copy(in, savePath, StandardCopyOption.REPLACE_EXISTING);
-        }
+        return Mono.defer(() -> {
+            try {
+                Files.createDirectories(savePath.getParent());
+            } catch (IOException e) {
+                return Mono.error(e);
+            }
 
-        // 업로드 폴더 기준 상대 경로를 /images/** URL 로 반환 (DB에는 이 값 저장)
-        String relativePath = "apply/gen/" + filename;
-        return "/images/" + relativePath.replace("\\", "/");
+            Flux<DataBuffer> body = fastapiWebClient.get()
+                    .uri(URI.create(resultImageUrl))
+                    .retrieve()
+                    .bodyToFlux(DataBuffer.class);
+
+            return DataBufferUtils.write(body, savePath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)
+                    .onErrorResume(e -> {
+                        deleteQuietly(savePath);
+                        return Mono.error(e);
+                    })
+                    // 업로드 폴더 기준 상대 경로를 /images/** URL 로 반환 (DB에는 이 값 저장)
+                    .thenReturn("/images/apply/gen/" + filename);
+        });
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete partial file. path={}", path, e);
+        }
     }
 
     /**
@@ -368,56 +370,35 @@ public class ApplyImageService {
      * - 이미지 URL은 클라이언트에서 바로 쓸 수 있게 풀 URL로 변환
      */
     private ApplyImageResponse toResponse(ApplyImage entity) {
-        Bouquet bouquet = entity.getBouquet();
+        return toResponse(entity, loadBouquetResponses(List.of(entity)));
+    }
 
-        // 부케 + 카테고리 DTO 생성
-        BouquetResponse bouquetResponse = toBouquetResponse(bouquet);
+    private ApplyImageResponse toResponse(ApplyImage entity, Map<Long, BouquetResponse> bouquetsById) {
+        Long bouquetId = entity.getBouquet().getId();
 
-        String srcImageFullUrl = buildFullImageUrl(entity.getSrcImageUrl());
-        String genImageFullUrl = buildFullImageUrl(entity.getGenImageUrl());
+        String srcImageFullUrl = bouquetResponseAssembler.buildFullImageUrl(entity.getSrcImageUrl());
+        String genImageFullUrl = bouquetResponseAssembler.buildFullImageUrl(entity.getGenImageUrl());
 
         return new ApplyImageResponse(
                 entity.getId(),
                 entity.getUser().getId(),
-                bouquet.getId(),
+                bouquetId,
                 entity.getSession() != null ? entity.getSession().getId() : null,
                 srcImageFullUrl,
                 genImageFullUrl,
                 entity.getStatus(),
                 entity.getCreatedAt(),
-                bouquetResponse
+                bouquetsById.get(bouquetId)
         );
     }
 
-    private BouquetResponse toBouquetResponse(Bouquet bouquet) {
-        BouquetCategory categories = bouquetCategoryRepository.findByBouquet(bouquet);
-        BouquetCategoryResponse categoryResponses = toCategoryResponse(categories);
-
-        // ★ BouquetResponse에도 풀 URL로 세팅
-        String bouquetImageFullUrl = buildFullImageUrl(bouquet.getImageUrl());
-
-        return BouquetResponse.builder()
-                .id(bouquet.getId())
-                .name(bouquet.getName())
-                .price(bouquet.getPrice())
-                .reason(bouquet.getReason())
-                .description(bouquet.getDescription())
-                .imageUrl(bouquetImageFullUrl)
-                .categories(categoryResponses)
-                .build();
-    }
-
-    private BouquetCategoryResponse toCategoryResponse(BouquetCategory category) {
-        return BouquetCategoryResponse.builder()
-                .id(category.getId())
-                .bouquetId(category.getBouquet().getId())
-                .season(category.getSeason())
-                .dressMood(category.getDressMood())
-                .dressSilhouette(category.getDressSilhouette())
-                .weddingColor(category.getWeddingColor())
-                .bouquetAtmosphere(category.getBouquetAtmosphere())
-                .usage(category.getUsage())
-                .build();
+    /**
+     * ApplyImage 목록의 부케 응답을 한 번에 조립 (부케 ID → BouquetResponse)
+     */
+    private Map<Long, BouquetResponse> loadBouquetResponses(List<ApplyImage> applyImages) {
+        return bouquetResponseAssembler.toResponsesById(
+                applyImages.stream().map(ai -> ai.getBouquet().getId()).distinct().toList()
+        );
     }
 
     private String getExtensionSafe(String filename) {
@@ -429,24 +410,10 @@ public class ApplyImageService {
         return filename.substring(idx + 1);
     }
 
-    // ★ 공통: /images/... 또는 http... 다 받아서 풀 URL로 바꿔주는 함수
-    private String buildFullImageUrl(String path) {
-        if (path == null || path.isBlank()) {
-            return null;
-        }
-
-        // 이미 절대 URL이면 그대로 사용
-        if (path.startsWith("http://") || path.startsWith("https://")) {
-            return path;
-        }
-
-        String resultPath = path;
-        if (!resultPath.startsWith("/")) {
-            resultPath = "/" + resultPath;
-        }
-
-        return serverBaseUrl + resultPath;
-    }
+    /**
+     * 합성 입력 (유저 이미지 파일 위치 + 캐시된 부케 이미지)
+     */
+    private record CompositeSource(Path userImage, String userFilename, ByteBuffer bouquetImage) {}
 
     private record FastApiCompositeResponse(
             String status,
@@ -0,0 +1,231 @@
+package com.dbapplication.bouget.service;
+
+import com.dbapplication.bouget.dto.BouquetDetailResponse;
+import com.dbapplication.bouget.dto.BouquetResponse;
+import com.dbapplication.bouget.repository.BouquetDetailRow;
+import com.dbapplication.bouget.repository.BouquetListRow;
+import com.dbapplication.bouget.repository.BouquetRepository;
+import com.dbapplication.bouget.repository.BouquetTextRow;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 부케 카탈로그 스냅샷 관리
+ * - 서버 기동 시 bouquets + bouquet_categories 를 LOB 없는 리스트 프로젝션 쿼리 한 번으로 읽어 CatalogSnapshot 생성
+ * - 카탈로그 변경(CatalogChangedEvent) 시 백그라운드에서 새로 만들고 다 되면 교체
+ *   (교체 전까지는 이전 스냅샷으로 계속 응답)
+ * - GET /bouquets 는 이 스냅샷만 보고 응답 → DB 조회 없음
+ * - GET /bouquets/{id} 는 상세 캐시(부케 ID별, LRU)에서 응답, 없으면 쿼리 한 번으로 읽어서 채움
+ * - 카탈로그 버전: 변경 이벤트 때 + 새 스냅샷으로 교체될 때 증가 (ETag 기준값)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BouquetCatalog {
+
+    // 상세 캐시에 들고 있을 최대 부케 수
+    private static final int DETAIL_CACHE_SIZE = 1000;
+
+    private final BouquetRepository bouquetRepository;
+    private final BouquetResponseAssembler bouquetResponseAssembler;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile CatalogSnapshot snapshot;
+
+    // 카탈로그 버전 (재기동 후에도 이전 ETag 와 겹치지 않도록 기동 시각에서 시작)
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    // 부케 ID → 상세 응답 (접근 순서 LRU)
+    private final Map<Long, BouquetDetailResponse> detailCache =
+            Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, BouquetDetailResponse> eldest) {
+                    return size() > DETAIL_CACHE_SIZE;
+                }
+            });
+
+    // 카탈로그가 바뀔 때마다 증가 (변경 전에 읽어온 상세가 캐시에 들어가지 않게 하는 용도)
+    private long detailGeneration;
+
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean(false);
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "bouquet-catalog-builder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @EventListener(value = ApplicationReadyEvent.class, condition = CatalogImportRunner.SERVING)
+    public void warmUp() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.warn("[BouquetCatalog] 기동 시 스냅샷 빌드 실패. 첫 조회 때 다시 빌드합니다.", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        version.incrementAndGet();
+        synchronized (detailCache) {
+            detailGeneration++;
+            detailCache.clear();
+        }
+        requestRebuild();
+    }
+
+    /**
+     * 현재 카탈로그 버전 (단조 증가)
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * 현재 스냅샷 (아직 한 번도 못 만들었으면 지금 만든다)
+     */
+    public CatalogSnapshot snapshot() {
+        CatalogSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            return snapshot != null ? snapshot : rebuild();
+        }
+    }
+
+    /**
+     * 부케 상세 (캐시에 없으면 부케 + 카테고리 + 스토어를 쿼리 한 번으로 읽어서 캐시)
+     */
+    public Optional<BouquetDetailResponse> detail(Long bouquetId) {
+        BouquetDetailResponse cached = detailCache.get(bouquetId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        long generation;
+        synchronized (detailCache) {
+            generation = detailGeneration;
+        }
+
+        List<BouquetDetailRow> rows = bouquetRepository.findDetailRows(bouquetId);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // 카테고리/스토어는 부케당 1개 기준 (첫 행 사용)
+        BouquetDetailResponse detail = bouquetResponseAssembler.toDetailResponse(rows.get(0));
+
+        synchronized (detailCache) {
+            // 읽는 도중 카탈로그가 바뀌었으면 옛날 값이므로 캐시에 넣지 않는다
+            if (generation == detailGeneration) {
+                detailCache.put(bouquetId, detail);
+            }
+        }
+        return Optional.of(detail);
+    }
+
+    /**
+     * 리스트 응답에 설명 텍스트(reason/description)를 채워서 반환 (?include=description)
+     * - 해당 부케들 것만 IN 쿼리 한 번으로 조회
+     */
+    public List<BouquetResponse> withDescriptions(List<BouquetResponse> bouquets) {
+        if (bouquets.isEmpty()) {
+            return bouquets;
+        }
+
+        Map<Long, BouquetTextRow> textsById = new HashMap<>();
+        for (BouquetTextRow row : bouquetRepository.findTextRowsByIdIn(bouquets.stream().map(BouquetResponse::getId).toList())) {
+            textsById.put(row.bouquetId(), row);
+        }
+
+        List<BouquetResponse> result = new ArrayList<>(bouquets.size());
+        for (BouquetResponse bouquet : bouquets) {
+            BouquetTextRow text = textsById.get(bouquet.getId());
+            result.add(text == null ? bouquet : bouquet.toBuilder()
+                    .reason(text.reason())
+                    .description(text.description())
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * DB에서 카탈로그 전체를 읽어 새 스냅샷을 만들고 교체
+     */
+    public synchronized CatalogSnapshot rebuild() {
+        long startNanos = System.nanoTime();
+
+        CatalogSnapshot built = transactionTemplate.execute(status -> load());
+        snapshot = built;
+
+        // 재빌드 전(이전 스냅샷)에 나간 리스트 응답이 새 버전 ETag 로 캐시되지 않도록 교체 후에도 올린다
+        version.incrementAndGet();
+
+        log.info("[BouquetCatalog] 스냅샷 빌드 완료. bouquets={}, elapsed={}ms",
+                built.size(), (System.nanoTime() - startNanos) / 1_000_000);
+        return built;
+    }
+
+    /**
+     * 백그라운드 재빌드 예약 (이미 대기 중인 재빌드가 있으면 합친다)
+     */
+    public void requestRebuild() {
+        if (!rebuildQueued.compareAndSet(false, true)) {
+            return;
+        }
+        rebuildExecutor.execute(() -> {
+            rebuildQueued.set(false);
+            try {
+                rebuild();
+            } catch (Exception e) {
+                log.error("[BouquetCatalog] 스냅샷 재빌드 실패. 기존 스냅샷을 계속 사용합니다.", e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        rebuildExecutor.shutdownNow();
+        rebuildExecutor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private CatalogSnapshot load() {
+        List<BouquetListRow> rows = bouquetRepository.findAllListRows();
+
+        long[] ids = new long[rows.size()];
+        BouquetResponse[] responses = new BouquetResponse[rows.size()];
+        int size = 0;
+
+        for (BouquetListRow row : rows) {
+            // 부케당 카테고리는 1개 기준 (findByBouquet 와 동일하게 첫 행만 사용)
+            if (size > 0 && ids[size - 1] == row.bouquetId()) {
+                continue;
+            }
+            ids[size] = row.bouquetId();
+            responses[size] = bouquetResponseAssembler.toResponse(row);
+            size++;
+        }
+
+        return new CatalogSnapshot(Arrays.copyOf(ids, size), Arrays.copyOf(responses, size));
+    }
+}
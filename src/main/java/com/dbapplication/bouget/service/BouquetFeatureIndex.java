@@ -0,0 +1,236 @@
+package com.dbapplication.bouget.service;
+
+import com.dbapplication.bouget.entity.enums.*;
+import com.dbapplication.bouget.repository.BouquetFeatureRow;
+import com.dbapplication.bouget.repository.BouquetRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * 추천 점수 계산용 부케 속성 인덱스 (메모리)
+ * - 부케마다 카테고리 enum 값들을 int 하나에 4bit씩 묶어서(ordinal + 1, null이면 0) 보관
+ * - 추천 세션 점수 계산 시 DB 조회 없이 이 인덱스만 본다
+ * - 카탈로그 변경(CatalogChangedEvent) 시 백그라운드에서 새로 만들고 다 되면 교체 (BouquetCatalog 와 같은 방식)
+ *   → 교체 전까지는 이전 스냅샷으로 계속 응답, 추천 요청 스레드에서 빌드하거나 빌드 실패로 500 이 나지 않음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BouquetFeatureIndex {
+
+    // 속성별 비트 위치 (4bit씩)
+    public static final int SEASON_SHIFT           = 0;
+    public static final int DRESS_MOOD_SHIFT       = 4;
+    public static final int DRESS_SILHOUETTE_SHIFT = 8;
+    public static final int WEDDING_COLOR_SHIFT    = 12;
+    public static final int ATMOSPHERE_SHIFT       = 16;
+    public static final int USAGE_SHIFT            = 20;
+
+    private static final int ATTRIBUTE_MASK = 0xF;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final BouquetRepository bouquetRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Snapshot snapshot;
+
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean(false);
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "bouquet-feature-index-builder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 서버 기동 시 미리 빌드 (실패해도 첫 조회 때 다시 시도)
+     */
+    @EventListener(value = ApplicationReadyEvent.class, condition = CatalogImportRunner.SERVING)
+    public void warmUp() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.warn("[BouquetFeatureIndex] 기동 시 인덱스 빌드 실패. 첫 추천 요청 때 다시 빌드합니다.", e);
+        }
+    }
+
+    /**
+     * 카탈로그가 바뀌면 커밋 이후 백그라운드 재빌드 예약
+     * (한 트랜잭션에서 여러 행이 바뀌어도 재빌드는 한 번)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        requestRebuild();
+    }
+
+    /**
+     * 현재 인덱스 스냅샷 (아직 한 번도 못 만들었으면 지금 만든다)
+     */
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            return snapshot != null ? snapshot : rebuild();
+        }
+    }
+
+    /**
+     * DB에서 (부케 ID + 카테고리) 경량 프로젝션을 스트리밍으로 읽어 인덱스를 새로 만들고 교체
+     */
+    public synchronized Snapshot rebuild() {
+        long startNanos = System.nanoTime();
+
+        Snapshot built = transactionTemplate.execute(status -> {
+            try (Stream<BouquetFeatureRow> rows = bouquetRepository.streamAllFeatureRows()) {
+                return collect(rows);
+            }
+        });
+        snapshot = built;
+
+        log.info("[BouquetFeatureIndex] 인덱스 빌드 완료. bouquets={}, elapsed={}ms",
+                built.size(), (System.nanoTime() - startNanos) / 1_000_000);
+        return built;
+    }
+
+    /**
+     * 백그라운드 재빌드 예약 (이미 대기 중인 재빌드가 있으면 합친다)
+     */
+    public void requestRebuild() {
+        if (!rebuildQueued.compareAndSet(false, true)) {
+            return;
+        }
+        rebuildExecutor.execute(() -> {
+            rebuildQueued.set(false);
+            try {
+                rebuild();
+            } catch (Exception e) {
+                log.error("[BouquetFeatureIndex] 인덱스 재빌드 실패. 기존 인덱스를 계속 사용합니다.", e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        rebuildExecutor.shutdownNow();
+        rebuildExecutor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 스트리밍으로 들어오는 행을 primitive 배열에 바로 채운다 (엔티티/행 객체를 모아두지 않음)
+     */
+    private Snapshot collect(Stream<BouquetFeatureRow> rows) {
+        long[] ids = new long[INITIAL_CAPACITY];
+        int[] features = new int[INITIAL_CAPACITY];
+        int size = 0;
+
+        Iterator<BouquetFeatureRow> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            BouquetFeatureRow row = iterator.next();
+
+            // 카테고리가 여러 개 붙은 부케는 첫 번째만 사용 (findByBouquet 와 동일하게 1:1 가정)
+            if (size > 0 && ids[size - 1] == row.bouquetId()) {
+                continue;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                features = Arrays.copyOf(features, size * 2);
+            }
+            ids[size] = row.bouquetId();
+            features[size] = pack(
+                    row.season(),
+                    row.dressMood(),
+                    row.dressSilhouette(),
+                    row.weddingColor(),
+                    row.bouquetAtmosphere(),
+                    row.usage()
+            );
+            size++;
+        }
+
+        return new Snapshot(Arrays.copyOf(ids, size), Arrays.copyOf(features, size));
+    }
+
+    // ================== 비트 패킹 ==================
+
+    /**
+     * 카테고리 enum 값들을 int 하나로 묶는다. (null은 0)
+     */
+    public static int pack(
+            Season season,
+            DressMood dressMood,
+            DressSilhouette dressSilhouette,
+            WeddingColor weddingColor,
+            BouquetAtmosphere bouquetAtmosphere,
+            Usage usage
+    ) {
+        return encode(season, SEASON_SHIFT)
+                | encode(dressMood, DRESS_MOOD_SHIFT)
+                | encode(dressSilhouette, DRESS_SILHOUETTE_SHIFT)
+                | encode(weddingColor, WEDDING_COLOR_SHIFT)
+                | encode(bouquetAtmosphere, ATMOSPHERE_SHIFT)
+                | encode(usage, USAGE_SHIFT);
+    }
+
+    /**
+     * query 쪽 속성이 지정되어 있고(0이 아니고) features 쪽 값과 같으면 true
+     */
+    public static boolean matches(int query, int features, int shift) {
+        int wanted = (query >>> shift) & ATTRIBUTE_MASK;
+        return wanted != 0 && wanted == ((features >>> shift) & ATTRIBUTE_MASK);
+    }
+
+    private static int encode(Enum<?> value, int shift) {
+        return value == null ? 0 : (value.ordinal() + 1) << shift;
+    }
+
+    /**
+     * 불변 인덱스 스냅샷
+     * - ids는 오름차순 정렬, features[i]는 ids[i] 부케의 패킹된 속성
+     */
+    public static final class Snapshot {
+
+        private final long[] ids;
+        private final int[] features;
+
+        // ids 는 오름차순이어야 함 (같은 패키지 테스트에서도 직접 생성)
+        Snapshot(long[] ids, int[] features) {
+            this.ids = ids;
+            this.features = features;
+        }
+
+        public int size() {
+            return ids.length;
+        }
+
+        public long idAt(int index) {
+            return ids[index];
+        }
+
+        public int featuresAt(int index) {
+            return features[index];
+        }
+
+        /**
+         * 부케 ID로 패킹된 속성 조회 (없으면 0 = 속성 없음)
+         */
+        public int featuresOf(long bouquetId) {
+            int index = Arrays.binarySearch(ids, bouquetId);
+            return index >= 0 ? features[index] : 0;
+        }
+    }
+}
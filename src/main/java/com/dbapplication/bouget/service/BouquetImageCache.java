@@ -0,0 +1,299 @@
+package com.dbapplication.bouget.service;
+
+import com.dbapplication.bouget.repository.ApplyImageRepository;
+import com.dbapplication.bouget.repository.BouquetListRow;
+import com.dbapplication.bouget.repository.BouquetRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 가상 피팅 합성용 부케 이미지 캐시
+ * - 인기 부케는 하루에 수천 번 합성되므로 매번 upload-dir 에서 다시 읽지 않도록 바이트를 들고 있음
+ * - 바이트는 direct ByteBuffer(off-heap) 에 보관 → 힙/GC 부담 없음, 합성 요청에는 복사 없이 읽기 전용 뷰로 넘김
+ *   (캐시에서 밀려나도 전송 중인 뷰가 참조하는 동안은 GC 가 메모리를 회수하지 않으므로 안전)
+ * - 전체 크기가 max-bytes 를 넘으면 가장 오래 안 쓴 부케부터 제거 (LRU)
+ * - 부케 imageUrl 이 바뀌면: 카탈로그 변경 이벤트로 제거 + 조회 시 저장해둔 imageUrl 과 다르면 다시 읽음
+ * - 시작 시 최근 가상 피팅이 많았던 부케부터 warm-up-count 개 미리 읽음
+ * - 메트릭
+ *   bouquet.image.cache.requests (result=hit|miss) : 적중률 = hit / (hit + miss)
+ *   bouquet.image.cache.evictions, bouquet.image.cache.size (bytes), bouquet.image.cache.entries
+ */
+@Slf4j
+@Component
+public class BouquetImageCache {
+
+    // 미리 채울 부케를 고를 때 보는 기간
+    private static final Duration WARM_UP_WINDOW = Duration.ofDays(30);
+
+    private final ApplyImageRepository applyImageRepository;
+    private final BouquetRepository bouquetRepository;
+    private final String uploadDir;
+    private final long maxBytes;
+    private final int warmUpCount;
+
+    // 접근 순서 LinkedHashMap (맨 앞이 가장 오래 안 쓴 것), this 로 동기화
+    private final LinkedHashMap<Long, CachedImage> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long usedBytes;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+
+    private final ExecutorService warmUpExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "bouquet-image-cache-warmer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public BouquetImageCache(
+            ApplyImageRepository applyImageRepository,
+            BouquetRepository bouquetRepository,
+            MeterRegistry meterRegistry,
+            @Value("${file.upload-dir}") String uploadDir,
+            @Value("${catalog.image-cache.max-bytes:268435456}") long maxBytes,
+            @Value("${catalog.image-cache.warm-up-count:50}") int warmUpCount
+    ) {
+        this.applyImageRepository = applyImageRepository;
+        this.bouquetRepository = bouquetRepository;
+        this.uploadDir = uploadDir;
+        this.maxBytes = maxBytes;
+        this.warmUpCount = warmUpCount;
+
+        this.hitCounter = Counter.builder("bouquet.image.cache.requests")
+                .tag("result", "hit")
+                .description("부케 이미지 캐시 조회 수")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("bouquet.image.cache.requests")
+                .tag("result", "miss")
+                .description("부케 이미지 캐시 조회 수")
+                .register(meterRegistry);
+        this.evictionCounter = Counter.builder("bouquet.image.cache.evictions")
+                .description("크기 제한으로 밀려난 부케 이미지 수")
+                .register(meterRegistry);
+        Gauge.builder("bouquet.image.cache.size", this, BouquetImageCache::usedBytes)
+                .baseUnit("bytes")
+                .description("캐시된 부케 이미지 전체 크기 (off-heap)")
+                .register(meterRegistry);
+        Gauge.builder("bouquet.image.cache.entries", this, BouquetImageCache::entryCount)
+                .description("캐시된 부케 이미지 수")
+                .register(meterRegistry);
+    }
+
+    @EventListener(value = ApplicationReadyEvent.class, condition = CatalogImportRunner.SERVING)
+    public void warmUp() {
+        if (warmUpCount <= 0 || maxBytes <= 0) {
+            return;
+        }
+        warmUpExecutor.execute(() -> {
+            try {
+                preload();
+            } catch (Exception e) {
+                log.error("[BouquetImageCache] 캐시 미리 채우기 실패. 조회할 때 채웁니다.", e);
+            }
+        });
+    }
+
+    /**
+     * 이미지가 바뀌었을 수 있는 부케는 캐시에서 제거 (부케를 특정할 수 없으면 전체)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.bouquetId() == null) {
+            clear();
+        } else if ("Bouquet".equals(event.source())) {
+            remove(event.bouquetId());
+        }
+    }
+
+    /**
+     * 부케 이미지 바이트 (읽기 전용 뷰, position 0 ~ limit 이 이미지 전체)
+     * - 캐시에 없거나 imageUrl 이 바뀌었으면 파일에서 읽어서 채움 (블로킹 파일 I/O)
+     *
+     * @param imageUrl 부케의 현재 imageUrl ("/images/bouquets/xxx.png" 또는 절대 URL)
+     */
+    public ByteBuffer get(Long bouquetId, String imageUrl) throws IOException {
+        CachedImage cached;
+        synchronized (this) {
+            cached = entries.get(bouquetId);
+        }
+        if (cached != null && cached.imageUrl().equals(imageUrl)) {
+            hitCounter.increment();
+            return cached.data().duplicate();
+        }
+
+        missCounter.increment();
+        ByteBuffer data = load(bouquetId, imageUrl);
+        put(bouquetId, new CachedImage(imageUrl, data));
+        return data.duplicate();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        warmUpExecutor.shutdownNow();
+        warmUpExecutor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    // ================== 내부 ==================
+
+    private void preload() {
+        long startNanos = System.nanoTime();
+
+        List<Long> bouquetIds = applyImageRepository.findMostAppliedBouquetIds(
+                LocalDateTime.now().minus(WARM_UP_WINDOW), PageRequest.of(0, warmUpCount));
+        if (bouquetIds.isEmpty()) {
+            return;
+        }
+
+        // 카테고리 join 때문에 부케당 행이 여러 개일 수 있음 → 첫 행만, 인기 순서 유지
+        Map<Long, String> imageUrls = new LinkedHashMap<>();
+        bouquetIds.forEach(id -> imageUrls.put(id, null));
+        for (BouquetListRow row : bouquetRepository.findListRowsByIdIn(bouquetIds)) {
+            if (imageUrls.get(row.bouquetId()) == null) {
+                imageUrls.put(row.bouquetId(), row.imageUrl());
+            }
+        }
+
+        int loaded = 0;
+        for (Map.Entry<Long, String> entry : imageUrls.entrySet()) {
+            if (entry.getValue() == null || entry.getValue().isBlank()) {
+                continue;
+            }
+            try {
+                ByteBuffer data = load(entry.getKey(), entry.getValue());
+                if (!fitsWithoutEviction(data.capacity())) {
+                    // 덜 인기 있는 부케로 더 인기 있는 부케를 밀어내지 않도록 여기서 멈춤
+                    break;
+                }
+                put(entry.getKey(), new CachedImage(entry.getValue(), data));
+                loaded++;
+            } catch (Exception e) {
+                log.warn("[BouquetImageCache] 부케 이미지 읽기 실패. bouquetId={}, reason={}", entry.getKey(), e.getMessage());
+            }
+        }
+
+        log.info("[BouquetImageCache] 캐시 미리 채우기 완료. bouquets={}, bytes={}, elapsed={}ms",
+                loaded, usedBytes(), (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    /**
+     * 파일 전체를 direct ByteBuffer 로 읽음
+     */
+    private ByteBuffer load(Long bouquetId, String imageUrl) throws IOException {
+        Path path = resolvePath(bouquetId, imageUrl);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Bouquet image is too large. bouquetId=" + bouquetId + ", size=" + size);
+            }
+            ByteBuffer buffer = ByteBuffer.allocateDirect((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // 끝까지 읽기
+            }
+            buffer.flip();
+            return buffer.asReadOnlyBuffer();
+        }
+    }
+
+    private synchronized void put(Long bouquetId, CachedImage image) {
+        long size = image.data().capacity();
+        if (size > maxBytes) {
+            // 혼자서 캐시 크기를 넘는 이미지는 보관하지 않음 (이번 요청에만 사용)
+            return;
+        }
+
+        CachedImage previous = entries.put(bouquetId, image);
+        if (previous != null) {
+            usedBytes -= previous.data().capacity();
+        }
+        usedBytes += size;
+
+        Iterator<Map.Entry<Long, CachedImage>> iterator = entries.entrySet().iterator();
+        while (usedBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<Long, CachedImage> eldest = iterator.next();
+            if (eldest.getKey().equals(bouquetId)) {
+                continue;
+            }
+            usedBytes -= eldest.getValue().data().capacity();
+            iterator.remove();
+            evictionCounter.increment();
+        }
+    }
+
+    private synchronized boolean fitsWithoutEviction(long size) {
+        return usedBytes + size <= maxBytes;
+    }
+
+    private synchronized void remove(Long bouquetId) {
+        CachedImage removed = entries.remove(bouquetId);
+        if (removed != null) {
+            usedBytes -= removed.data().capacity();
+        }
+    }
+
+    private synchronized void clear() {
+        entries.clear();
+        usedBytes = 0;
+    }
+
+    private synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    private synchronized int entryCount() {
+        return entries.size();
+    }
+
+    /**
+     * imageUrl → upload-dir 안의 파일 경로 ('/images/...' 또는 'http://.../images/...' 둘 다 처리)
+     */
+    private Path resolvePath(Long bouquetId, String imageUrl) {
+        if (imageUrl == null || imageUrl.isBlank()) {
+            throw new IllegalStateException("Bouquet image URL is empty. bouquetId=" + bouquetId);
+        }
+
+        String pathPart = imageUrl;
+
+        // 절대 URL로 저장되어 있다면 '/images/...' 부분만 추출
+        if (pathPart.startsWith("http://") || pathPart.startsWith("https://")) {
+            int idx = pathPart.indexOf("/images/");
+            if (idx == -1) {
+                throw new IllegalStateException("Bouquet image URL must contain /images/. url=" + imageUrl);
+            }
+            pathPart = pathPart.substring(idx); // "/images/..."
+        }
+
+        if (!pathPart.startsWith("/images/")) {
+            throw new IllegalStateException("Bouquet image URL must start with /images/. url=" + imageUrl);
+        }
+
+        String relative = pathPart.substring("/images/".length()); // "bouquets/bouquet000.png"
+        return Paths.get(uploadDir, relative);
+    }
+
+    private record CachedImage(String imageUrl, ByteBuffer data) {}
+}
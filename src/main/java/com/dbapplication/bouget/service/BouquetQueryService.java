@@ -1,167 +1,109 @@
 package com.dbapplication.bouget.service;
 
-import com.dbapplication.bouget.dto.BouquetCategoryResponse;
 import com.dbapplication.bouget.dto.BouquetDetailResponse;
+import com.dbapplication.bouget.dto.BouquetFacetResponse;
+import com.dbapplication.bouget.dto.BouquetFilter;
 import com.dbapplication.bouget.dto.BouquetResponse;
-import com.dbapplication.bouget.dto.StoreResponse;
-import com.dbapplication.bouget.entity.Bouquet;
-import com.dbapplication.bouget.entity.BouquetCategory;
-import com.dbapplication.bouget.entity.Store;
-import com.dbapplication.bouget.entity.enums.BouquetAtmosphere;
-import com.dbapplication.bouget.entity.enums.Season;
-import com.dbapplication.bouget.entity.enums.Usage;
-import com.dbapplication.bouget.repository.BouquetCategoryRepository;
-import com.dbapplication.bouget.repository.BouquetRepository;
-import com.dbapplication.bouget.repository.StoreRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 부케 조회 서비스
+ * - 카탈로그는 거의 바뀌지 않으므로 메모리 스냅샷(BouquetCatalog)에서 바로 응답 (DB 조회 없음)
+ * - 검색은 메모리 역색인(BouquetSearchIndex) 결과 ID를 스냅샷에서 꺼내 응답
+ * - 상세는 BouquetCatalog 의 상세 캐시에서 응답 (캐시에 없을 때만 쿼리 한 번)
+ */
 @Service
 @RequiredArgsConstructor
 public class BouquetQueryService {
 
-    private final BouquetRepository bouquetRepository;
-    private final BouquetCategoryRepository bouquetCategoryRepository;
-    private final StoreRepository storeRepository;
-
-    // ★ 추가: 서버 베이스 URL
-    @Value("${app.server-base-url}")
-    private String serverBaseUrl;
+    private final BouquetCatalog bouquetCatalog;
+    private final BouquetSearchIndex bouquetSearchIndex;
+    private final BouquetSimilarityTable bouquetSimilarityTable;
 
     /**
      * 부케 리스트 조회 (전체 / 필터)
-     * - season, bouquetAtmosphere, usage 중 하나라도 들어오면 카테고리 테이블 기반으로 필터
-     * - 전부 null이면 bouquets 테이블 전체 조회
+     * - 속성별 값 목록(OR) + 가격 범위를 비트셋 연산으로 필터
+     * - 조건이 하나도 없으면 전체, 부케 ID 오름차순
+     * - reason/description 은 includeDescription 일 때만 현재 페이지 것만 추가 조회
+     * - 필터 결과/전체 개수는 스냅샷에 필터 조합별로 캐시 (같은 필터의 다음 페이지는 재계산 없음)
      */
-    @Transactional(readOnly = true)
-    public Page<BouquetResponse> getBouquets(
-            Season season,
-            BouquetAtmosphere bouquetAtmosphere,
-            Usage usage,
-            Pageable pageable
-    ) {
-        Page<Bouquet> bouquetPage;
+    public Page<BouquetResponse> getBouquets(BouquetFilter filter, Pageable pageable, boolean includeDescription) {
+        Page<BouquetResponse> page = bouquetCatalog.snapshot().page(filter, pageable);
 
-        boolean hasFilter = (season != null) || (bouquetAtmosphere != null) || (usage != null);
-
-        if (hasFilter) {
-            // bouquet_categories 기준으로 join 조회
-            bouquetPage = bouquetCategoryRepository.findDistinctBouquetsByFilters(
-                    season,
-                    bouquetAtmosphere,
-                    usage,
-                    pageable
-            );
-        } else {
-            // 전체 조회
-            bouquetPage = bouquetRepository.findAll(pageable);
+        if (!includeDescription) {
+            return page;
         }
-
-        // 엔티티 → DTO 매핑 (이제 각 BouquetResponse에 categories까지 포함)
-        return bouquetPage.map(this::toBouquetResponse);
+        return new PageImpl<>(bouquetCatalog.withDescriptions(page.getContent()), pageable, page.getTotalElements());
     }
 
     /**
-     * 부케 상세 조회
+     * 부케 리스트 조회 (무한 스크롤용)
+     * - getBouquets 와 같지만 전체 개수 없이 다음 페이지 여부만 반환
      */
-    @Transactional(readOnly = true)
-    public BouquetDetailResponse getBouquetDetail(Long bouquetId) {
-        Bouquet bouquet = bouquetRepository.findById(bouquetId)
-                .orElseThrow(() -> new IllegalArgumentException("Bouquet not found. id=" + bouquetId));
-
-        // 이 부케에 연결된 카테고리
-        BouquetCategory categories = bouquetCategoryRepository.findByBouquet(bouquet);
-        BouquetCategoryResponse categoryResponses = toCategoryResponse(categories);
+    public Slice<BouquetResponse> getBouquetSlice(BouquetFilter filter, Pageable pageable, boolean includeDescription) {
+        Slice<BouquetResponse> slice = bouquetCatalog.snapshot().slice(filter, pageable);
 
-        Store store = storeRepository.findByBouquet(bouquet);
-
-        StoreResponse storeResponse = null;
-        if (store != null) {
-            storeResponse = toStoreResponse(store);
+        if (!includeDescription) {
+            return slice;
         }
-
-        // ★ imageUrl 을 풀 URL 로 변환
-        String bouquetImageFullUrl = buildFullImageUrl(bouquet.getImageUrl());
-
-        return BouquetDetailResponse.builder()
-                .id(bouquet.getId())
-                .name(bouquet.getName())
-                .price(bouquet.getPrice())
-                .reason(bouquet.getReason())
-                .description(bouquet.getDescription())
-                .imageUrl(bouquetImageFullUrl)
-                .categories(categoryResponses)
-                .store(storeResponse)
-                .build();
+        return new SliceImpl<>(bouquetCatalog.withDescriptions(slice.getContent()), pageable, slice.hasNext());
     }
 
-    // ====== 매핑 메서드들 ======
-
     /**
-     * 리스트/추천/virtual-fittings 등에서 사용할 BouquetResponse 생성
-     * - 부케 기본 정보 + categories 포함
+     * 부케 검색 (이름 / 추천 이유 / 설명)
+     * - 메모리 역색인(BouquetSearchIndex)에서 관련도 순 부케 ID만 받고, 응답은 스냅샷에서 꺼냄
+     * - 색인 갱신이 스냅샷보다 늦어 스냅샷에 없는 ID가 오면 건너뜀
      */
-    private BouquetResponse toBouquetResponse(Bouquet bouquet) {
-        BouquetCategory categories = bouquetCategoryRepository.findByBouquet(bouquet);
-        BouquetCategoryResponse categoryResponses = toCategoryResponse(categories);
-
-        // ★ 리스트 응답에도 풀 URL
-        String bouquetImageFullUrl = buildFullImageUrl(bouquet.getImageUrl());
-
-        return BouquetResponse.builder()
-                .id(bouquet.getId())
-                .name(bouquet.getName())
-                .price(bouquet.getPrice())
-                .reason(bouquet.getReason())
-                .description(bouquet.getDescription())
-                .imageUrl(bouquetImageFullUrl)
-                .categories(categoryResponses)
-                .build();
+    public Page<BouquetResponse> search(String query, Pageable pageable) {
+        BouquetSearchIndex.SearchResult result =
+                bouquetSearchIndex.search(query, pageable.getOffset(), pageable.getPageSize());
+
+        CatalogSnapshot snapshot = bouquetCatalog.snapshot();
+        List<BouquetResponse> content = result.bouquetIds().stream()
+                .map(snapshot::bouquet)
+                .flatMap(Optional::stream)
+                .toList();
+        return new PageImpl<>(content, pageable, result.totalCount());
     }
 
-    private BouquetCategoryResponse toCategoryResponse(BouquetCategory category) {
-        return BouquetCategoryResponse.builder()
-                .id(category.getId())
-                .bouquetId(category.getBouquet().getId())
-                .season(category.getSeason())
-                .dressMood(category.getDressMood())
-                .dressSilhouette(category.getDressSilhouette())
-                .weddingColor(category.getWeddingColor())
-                .bouquetAtmosphere(category.getBouquetAtmosphere())
-                .usage(category.getUsage())
-                .build();
-    }
-
-    private StoreResponse toStoreResponse(Store store) {
-        return StoreResponse.builder()
-                .id(store.getId())
-                .bouquetId(store.getBouquet().getId())
-                .storeName(store.getStoreName())
-                .storeUrl(store.getStoreUrl())
-                .instagramId(store.getInstagramId())
-                .build();
+    /**
+     * 필터 UI용 속성값별 부케 개수
+     * - 스냅샷에 필터 조합별로 캐시되고, 카탈로그가 바뀌어 스냅샷이 교체되면 같이 버려진다
+     */
+    public BouquetFacetResponse getFacets(BouquetFilter filter) {
+        return bouquetCatalog.snapshot().facets(filter);
     }
 
-    // ★ /images/... 또는 http... 를 풀 URL로 통일하는 함수
-    private String buildFullImageUrl(String path) {
-        if (path == null || path.isBlank()) {
-            return null;
-        }
-
-        // 이미 절대 URL이면 그대로 사용
-        if (path.startsWith("http://") || path.startsWith("https://")) {
-            return path;
+    /**
+     * 비슷한 부케 목록 (상세 화면용)
+     * - 사전 계산된 이웃 ID(BouquetSimilarityTable)를 스냅샷에서 꺼냄, 유사도 높은 순
+     */
+    public List<BouquetResponse> getSimilarBouquets(Long bouquetId, int size) {
+        CatalogSnapshot snapshot = bouquetCatalog.snapshot();
+        if (snapshot.bouquet(bouquetId).isEmpty()) {
+            throw new IllegalArgumentException("Bouquet not found. id=" + bouquetId);
         }
 
-        String resultPath = path;
-        if (!resultPath.startsWith("/")) {
-            resultPath = "/" + resultPath;
-        }
+        return bouquetSimilarityTable.neighbours(bouquetId, size).stream()
+                .map(snapshot::bouquet)
+                .flatMap(Optional::stream)
+                .toList();
+    }
 
-        return serverBaseUrl + resultPath;
+    /**
+     * 부케 상세 조회
+     */
+    public BouquetDetailResponse getBouquetDetail(Long bouquetId) {
+        return bouquetCatalog.detail(bouquetId)
+                .orElseThrow(() -> new IllegalArgumentException("Bouquet not found. id=" + bouquetId));
     }
 }
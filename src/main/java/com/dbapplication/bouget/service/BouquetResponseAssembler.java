@@ -0,0 +1,184 @@
+package com.dbapplication.bouget.service;
+
+import com.dbapplication.bouget.dto.BouquetCategoryResponse;
+import com.dbapplication.bouget.dto.BouquetDetailResponse;
+import com.dbapplication.bouget.dto.BouquetResponse;
+import com.dbapplication.bouget.dto.StoreResponse;
+import com.dbapplication.bouget.entity.Bouquet;
+import com.dbapplication.bouget.repository.BouquetDetailRow;
+import com.dbapplication.bouget.repository.BouquetListRow;
+import com.dbapplication.bouget.repository.BouquetRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 부케 응답 DTO 조립 (카탈로그 / 추천 / virtual-fittings 공통)
+ * - 부케 여러 개를 받으면 부케 + 카테고리를 LOB 없는 리스트 프로젝션 IN 쿼리 한 번으로 조회
+ *   → 목록 크기와 상관없이 쿼리 수 고정
+ * - 부케 이미지 풀 URL 은 경로별로 한 번만 만들어 재사용
+ */
+@Component
+@RequiredArgsConstructor
+public class BouquetResponseAssembler {
+
+    private final BouquetRepository bouquetRepository;
+
+    // 서버 베이스 URL (예: http://52.78.57.66:8080)
+    @Value("${app.server-base-url}")
+    private String serverBaseUrl;
+
+    // 부케 이미지 경로 → 풀 URL (부케 수만큼만 쌓이고, 카탈로그가 바뀌면 비운다)
+    private final Map<String, String> bouquetImageUrls = new ConcurrentHashMap<>();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        bouquetImageUrls.clear();
+    }
+
+    /**
+     * 부케 목록 → 응답 목록 (같은 순서, 같은 크기)
+     * - 부케 엔티티는 ID만 사용하므로 지연 로딩 프록시를 넘겨도 초기화되지 않는다
+     * - 그 사이 삭제되어 조회되지 않은 부케 자리는 null
+     */
+    public List<BouquetResponse> toResponses(List<Bouquet> bouquets) {
+        Map<Long, BouquetResponse> responsesById = toResponsesById(
+                bouquets.stream().map(Bouquet::getId).distinct().toList()
+        );
+
+        List<BouquetResponse> result = new ArrayList<>(bouquets.size());
+        for (Bouquet bouquet : bouquets) {
+            result.add(responsesById.get(bouquet.getId()));
+        }
+        return result;
+    }
+
+    /**
+     * 부케 ID 목록 → 부케 ID별 응답 (요청한 ID 순서 유지, 없는 부케는 빠짐)
+     */
+    public Map<Long, BouquetResponse> toResponsesById(Collection<Long> bouquetIds) {
+        if (bouquetIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, BouquetListRow> found = new HashMap<>();
+        for (BouquetListRow row : bouquetRepository.findListRowsByIdIn(bouquetIds)) {
+            // 부케당 카테고리는 1개 기준 (첫 행 사용)
+            found.putIfAbsent(row.bouquetId(), row);
+        }
+
+        Map<Long, BouquetResponse> result = new LinkedHashMap<>();
+        for (Long bouquetId : bouquetIds) {
+            BouquetListRow row = found.get(bouquetId);
+            if (row != null) {
+                result.put(bouquetId, toResponse(row));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 리스트용 BouquetResponse 생성
+     * - 부케 기본 정보 + categories 포함, reason/description 은 비워둔다
+     */
+    public BouquetResponse toResponse(BouquetListRow row) {
+        return BouquetResponse.builder()
+                .id(row.bouquetId())
+                .name(row.name())
+                .price(row.price())
+                .imageUrl(bouquetImageUrl(row.imageUrl()))
+                .categories(row.categoryId() != null ? toCategoryResponse(row) : null)
+                .build();
+    }
+
+    /**
+     * 상세용 BouquetDetailResponse 생성 (reason/description, store 포함)
+     */
+    public BouquetDetailResponse toDetailResponse(BouquetDetailRow row) {
+        return BouquetDetailResponse.builder()
+                .id(row.bouquetId())
+                .name(row.name())
+                .price(row.price())
+                .reason(row.reason())
+                .description(row.description())
+                .imageUrl(bouquetImageUrl(row.imageUrl()))
+                .categories(row.categoryId() != null ? toCategoryResponse(row) : null)
+                .store(row.storeId() != null ? toStoreResponse(row) : null)
+                .build();
+    }
+
+    // ★ /images/... 또는 http... 를 풀 URL로 통일하는 함수
+    public String buildFullImageUrl(String path) {
+        if (path == null || path.isBlank()) {
+            return null;
+        }
+
+        // 이미 절대 URL이면 그대로 사용
+        if (path.startsWith("http://") || path.startsWith("https://")) {
+            return path;
+        }
+
+        String resultPath = path;
+        if (!resultPath.startsWith("/")) {
+            resultPath = "/" + resultPath;
+        }
+
+        return serverBaseUrl + resultPath;
+    }
+
+    /**
+     * 부케 이미지 풀 URL (경로별 캐시)
+     * - 유저 업로드 이미지처럼 계속 늘어나는 경로는 캐시하지 않도록 부케 이미지에만 사용
+     */
+    private String bouquetImageUrl(String path) {
+        if (path == null || path.isBlank()) {
+            return null;
+        }
+        return bouquetImageUrls.computeIfAbsent(path, this::buildFullImageUrl);
+    }
+
+    private BouquetCategoryResponse toCategoryResponse(BouquetListRow row) {
+        return BouquetCategoryResponse.builder()
+                .id(row.categoryId())
+                .bouquetId(row.bouquetId())
+                .season(row.season())
+                .dressMood(row.dressMood())
+                .dressSilhouette(row.dressSilhouette())
+                .weddingColor(row.weddingColor())
+                .bouquetAtmosphere(row.bouquetAtmosphere())
+                .usage(row.usage())
+                .build();
+    }
+
+    private BouquetCategoryResponse toCategoryResponse(BouquetDetailRow row) {
+        return BouquetCategoryResponse.builder()
+                .id(row.categoryId())
+                .bouquetId(row.bouquetId())
+                .season(row.season())
+                .dressMood(row.dressMood())
+                .dressSilhouette(row.dressSilhouette())
+                .weddingColor(row.weddingColor())
+                .bouquetAtmosphere(row.bouquetAtmosphere())
+                .usage(row.usage())
+                .build();
+    }
+
+    private StoreResponse toStoreResponse(BouquetDetailRow row) {
+        return StoreResponse.builder()
+                .id(row.storeId())
+                .bouquetId(row.bouquetId())
+                .storeName(row.storeName())
+                .storeUrl(row.storeUrl())
+                .instagramId(row.instagramId())
+                .build();
+    }
+}
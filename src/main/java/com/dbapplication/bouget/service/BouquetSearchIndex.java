@@ -0,0 +1,352 @@
+package com.dbapplication.bouget.service;
+
+import com.dbapplication.bouget.repository.BouquetRepository;
+import com.dbapplication.bouget.repository.BouquetSearchRow;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * 부케 검색용 메모리 역색인 (이름 / 추천 이유 / 설명)
+ * - 한글은 띄어쓰기/조사 때문에 단어 단위로 자르면 잘 안 맞아서 글자 2-gram 단위로 색인
+ *   ("화이트장미부케" → 화이, 이트, 트장, 장미, 미부, 부케)
+ * - gram 마다 (문서 번호, 가중 빈도) 를 int 배열로 보관 (boxing 없음)
+ * - 점수 = Σ (가중 빈도 × idf), 이름에 나온 gram 은 가중치를 더 준다
+ * - 카탈로그 변경 시 바뀐 부케만 백그라운드에서 다시 색인 (기존 문서는 삭제 표시 후 새 번호로 추가)
+ *   삭제 표시가 많이 쌓이면 전체 재빌드
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BouquetSearchIndex {
+
+    // 필드별 gram 가중치
+    private static final int NAME_WEIGHT = 3;
+    private static final int TEXT_WEIGHT = 1;
+
+    // 삭제 표시된 문서가 이 비율을 넘으면 전체 재빌드
+    private static final double COMPACT_RATIO = 0.2;
+
+    // 점수를 int 로 다루기 위한 배율 (TopKSelector 가 int 점수 사용)
+    private static final int SCORE_SCALE = 1000;
+
+    private final BouquetRepository bouquetRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+
+    // 다시 색인해야 하는 부케 ID (null 이벤트는 fullRebuildQueued 로)
+    private final Set<Long> pendingBouquetIds = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean fullRebuildQueued = new AtomicBoolean(false);
+    private final AtomicBoolean updateQueued = new AtomicBoolean(false);
+    private final ExecutorService indexExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "bouquet-search-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @EventListener(value = ApplicationReadyEvent.class, condition = CatalogImportRunner.SERVING)
+    public void warmUp() {
+        fullRebuildQueued.set(true);
+        requestUpdate();
+    }
+
+    /**
+     * 검색 대상 텍스트는 Bouquet 에만 있으므로 부케 변경만 반영 (부케를 특정할 수 없으면 전체 재빌드)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        if (event.bouquetId() == null) {
+            fullRebuildQueued.set(true);
+        } else if ("Bouquet".equals(event.source())) {
+            pendingBouquetIds.add(event.bouquetId());
+        } else {
+            return;
+        }
+        requestUpdate();
+    }
+
+    /**
+     * 검색 (점수 내림차순 → 부케 ID 오름차순)
+     *
+     * @param query  검색어
+     * @param offset 건너뛸 개수
+     * @param limit  가져올 개수
+     */
+    public SearchResult search(String query, long offset, int limit) {
+        List<String> grams = new ArrayList<>(new LinkedHashSet<>(grams(query)));
+        if (grams.isEmpty()) {
+            return new SearchResult(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            return index.search(grams, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        indexExecutor.shutdownNow();
+        indexExecutor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    // ================== 색인 갱신 ==================
+
+    private void requestUpdate() {
+        if (!updateQueued.compareAndSet(false, true)) {
+            return;
+        }
+        indexExecutor.execute(() -> {
+            updateQueued.set(false);
+            try {
+                if (fullRebuildQueued.getAndSet(false)) {
+                    rebuildAll();
+                }
+                applyPending();
+            } catch (Exception e) {
+                log.error("[BouquetSearchIndex] 검색 인덱스 갱신 실패. 기존 인덱스를 계속 사용합니다.", e);
+            }
+        });
+    }
+
+    /**
+     * 전체 재빌드: 새 인덱스를 락 밖에서 만든 뒤 교체
+     */
+    void rebuildAll() {
+        long startNanos = System.nanoTime();
+
+        // 재빌드가 읽는 내용에 이미 반영될 변경분은 버린다
+        pendingBouquetIds.clear();
+
+        Index built = transactionTemplate.execute(status -> {
+            Index fresh = new Index();
+            try (Stream<BouquetSearchRow> rows = bouquetRepository.streamAllSearchRows()) {
+                Iterator<BouquetSearchRow> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    fresh.add(iterator.next());
+                }
+            }
+            return fresh;
+        });
+
+        lock.writeLock().lock();
+        try {
+            index = built;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("[BouquetSearchIndex] 검색 인덱스 빌드 완료. bouquets={}, grams={}, elapsed={}ms",
+                built.liveCount, built.postings.size(), (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    private void applyPending() {
+        if (pendingBouquetIds.isEmpty()) {
+            return;
+        }
+        List<Long> bouquetIds = new ArrayList<>(pendingBouquetIds);
+        pendingBouquetIds.removeAll(bouquetIds);
+        reindex(bouquetIds);
+    }
+
+    /**
+     * 바뀐 부케들만 다시 색인 (삭제된 부케는 조회되지 않으므로 삭제 표시만 남음)
+     */
+    void reindex(List<Long> bouquetIds) {
+        List<BouquetSearchRow> rows = bouquetRepository.findSearchRowsByIdIn(bouquetIds);
+
+        boolean compact;
+        lock.writeLock().lock();
+        try {
+            for (Long bouquetId : bouquetIds) {
+                index.remove(bouquetId);
+            }
+            for (BouquetSearchRow row : rows) {
+                index.add(row);
+            }
+            compact = index.deletedCount() > index.docCount * COMPACT_RATIO;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("[BouquetSearchIndex] 부분 갱신 완료. changed={}, reindexed={}", bouquetIds.size(), rows.size());
+
+        if (compact) {
+            rebuildAll();
+        }
+    }
+
+    // ================== 토큰화 ==================
+
+    /**
+     * 텍스트 → 글자 2-gram 목록 (중복 포함)
+     * - NFKC 정규화 + 소문자, 글자/숫자가 아닌 문자는 구분자로 취급
+     * - 한 글자짜리 토막은 그 글자 자체를 gram 으로 사용
+     */
+    static List<String> grams(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+
+        List<String> grams = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (i - start == 1) {
+                    grams.add(normalized.substring(start, i));
+                }
+                for (int j = start; j + 2 <= i; j++) {
+                    grams.add(normalized.substring(j, j + 2));
+                }
+                start = -1;
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * 검색 결과 (순위 순서의 부케 ID 목록 + 매칭된 전체 부케 수)
+     */
+    public record SearchResult(List<Long> bouquetIds, int totalCount) {}
+
+    // ================== 역색인 본체 ==================
+
+    /**
+     * 역색인 (BouquetSearchIndex 의 락 안에서만 접근)
+     * - 문서 번호는 추가 순서대로 증가 → posting 목록은 항상 문서 번호 오름차순
+     */
+    private static final class Index {
+
+        private final Map<String, Postings> postings = new HashMap<>();
+        private final Map<Long, Integer> docByBouquetId = new HashMap<>();
+        private final BitSet deleted = new BitSet();
+        private long[] bouquetIds = new long[1024];
+        private int docCount;
+        private int liveCount;
+
+        void add(BouquetSearchRow row) {
+            Map<String, Integer> frequencies = new HashMap<>();
+            count(frequencies, row.name(), NAME_WEIGHT);
+            count(frequencies, row.reason(), TEXT_WEIGHT);
+            count(frequencies, row.description(), TEXT_WEIGHT);
+
+            if (docCount == bouquetIds.length) {
+                bouquetIds = Arrays.copyOf(bouquetIds, docCount * 2);
+            }
+            int doc = docCount++;
+            bouquetIds[doc] = row.bouquetId();
+            docByBouquetId.put(row.bouquetId(), doc);
+            liveCount++;
+
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), gram -> new Postings()).add(doc, entry.getValue());
+            }
+        }
+
+        void remove(long bouquetId) {
+            Integer doc = docByBouquetId.remove(bouquetId);
+            if (doc != null) {
+                deleted.set(doc);
+                liveCount--;
+            }
+        }
+
+        int deletedCount() {
+            return deleted.cardinality();
+        }
+
+        SearchResult search(List<String> grams, long offset, int limit) {
+            float[] scores = new float[docCount];
+            BitSet matched = new BitSet(docCount);
+
+            for (String gram : grams) {
+                Postings posting = postings.get(gram);
+                if (posting == null) {
+                    continue;
+                }
+                // 흔한 gram 일수록 점수 기여가 작다
+                float idf = (float) Math.log(1.0 + (double) liveCount / posting.size);
+                for (int i = 0; i < posting.size; i++) {
+                    int doc = posting.docs[i];
+                    scores[doc] += posting.frequencies[i] * idf;
+                    matched.set(doc);
+                }
+            }
+            matched.andNot(deleted);
+
+            // 힙 크기는 매칭된 문서 수를 넘지 않게 (page 가 커도 메모리가 커지지 않음)
+            int total = matched.cardinality();
+            if (offset >= total) {
+                return new SearchResult(List.of(), total);
+            }
+            TopKSelector selector = new TopKSelector((int) Math.min(offset + limit, total));
+            for (int doc = matched.nextSetBit(0); doc >= 0; doc = matched.nextSetBit(doc + 1)) {
+                selector.offer(bouquetIds[doc], Math.round(scores[doc] * SCORE_SCALE));
+            }
+
+            List<ScoredId> ranked = selector.drain();
+            List<Long> page = ranked.subList((int) offset, ranked.size()).stream()
+                    .map(ScoredId::id)
+                    .toList();
+            return new SearchResult(page, total);
+        }
+
+        private static void count(Map<String, Integer> frequencies, String text, int weight) {
+            for (String gram : grams(text)) {
+                frequencies.merge(gram, weight, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * gram 하나의 posting 목록 (문서 번호 오름차순, 가중 빈도)
+     */
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void add(int doc, int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size] = frequency;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,642 @@
+package com.dbapplication.bouget.service;
+
+import com.dbapplication.bouget.repository.BouquetFeatureRow;
+import com.dbapplication.bouget.repository.BouquetRepository;
+import com.dbapplication.bouget.repository.BouquetSearchRow;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * "이 부케와 비슷한 부케" 사전 계산 테이블
+ * - 유사도 = 카테고리 속성 유사도(가중치 0.6) + reason/description 2-gram TF-IDF 코사인(가중치 0.4)
+ *   속성: 6개 enum 을 one-hot 으로 본 코사인 = 일치 개수 / √(값 있는 개수 × 값 있는 개수)
+ *   텍스트: 부케마다 TF-IDF 상위 TERMS_PER_DOC 개 gram 만 남긴 희소 벡터 (너무 흔한 gram 은 제외)
+ * - 전체 쌍을 비교하지 않고 후보만 계산 (BouquetSearchIndex 처럼 gram → 부케 역색인)
+ *   1) 텍스트 후보: 내 gram 들의 posting 을 훑어서 텍스트 내적을 누적
+ *   2) 속성 후보: 속성 조합(시그니처)마다 "속성 유사도 → ID" 순 상위 TOP_N + 1 개를 미리 구해둠
+ *   → 두 후보에 없는 부케는 속성 유사도만으로도 2) 의 TOP_N 개(자기 자신 제외)보다 순위가 낮으므로 결과는 전체 비교와 같음
+ * - 카탈로그가 바뀌면 REBUILD_DELAY 뒤에 백그라운드에서 새로 만들고(그 사이 변경은 합침), 다 만들어지면 통째로 교체
+ */
+@Slf4j
+@Component
+public class BouquetSimilarityTable {
+
+    // 부케마다 저장할 이웃 수 (API 최대 size)
+    public static final int TOP_N = 20;
+
+    // 유사도 가중치 (카테고리 속성 / 텍스트)
+    private static final double ATTRIBUTE_WEIGHT = 0.6;
+    private static final double TEXT_WEIGHT = 0.4;
+
+    // 부케마다 남길 gram 수 (TF-IDF 상위)
+    private static final int TERMS_PER_DOC = 32;
+
+    // 이보다 많은 부케(전체의 2%, 최소 50)에 나온 gram 은 변별력이 거의 없고 posting 만 길어서 제외
+    private static final double MAX_DF_RATIO = 0.02;
+    private static final int MIN_MAX_DF = 50;
+
+    // 속성 개수 (season, dressMood, dressSilhouette, weddingColor, bouquetAtmosphere, usage)
+    private static final int ATTRIBUTE_COUNT = 6;
+
+    // 한 작업이 맡을 부케(또는 시그니처) 수 (이보다 많으면 반으로 나눔)
+    private static final int ROWS_PER_TASK = 256;
+
+    // 점수를 int 로 다루기 위한 배율 (TopKSelector 가 int 점수 사용)
+    private static final int SCORE_SCALE = 10_000;
+
+    // [일치 개수][값 개수][값 개수] → 속성 점수
+    private static final int[][][] ATTRIBUTE_SCORES = attributeScoreTable();
+
+    // 변경 이벤트 뒤 재빌드까지 기다리는 시간 (연달아 오는 변경을 한 번의 재빌드로 합침)
+    private static final long REBUILD_DELAY_MILLIS = 5_000;
+
+    private final BouquetRepository bouquetRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Table table;
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean(false);
+    private final ScheduledExecutorService rebuildExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "bouquet-similarity-builder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // 요청 처리에 쓰는 공용 풀(commonPool)과 분리, 코어 하나는 남겨둔다
+    private final ForkJoinPool computePool =
+            new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+
+    private final Timer buildTimer;
+
+    public BouquetSimilarityTable(
+            BouquetRepository bouquetRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry
+    ) {
+        this.bouquetRepository = bouquetRepository;
+        this.transactionTemplate = transactionTemplate;
+
+        this.buildTimer = Timer.builder("bouquet.similarity.build")
+                .description("비슷한 부케 사전 계산 테이블 빌드 시간")
+                .register(meterRegistry);
+    }
+
+    @EventListener(value = ApplicationReadyEvent.class, condition = CatalogImportRunner.SERVING)
+    public void warmUp() {
+        requestRebuild(0);
+    }
+
+    /**
+     * 부케 하나가 바뀌어도 IDF 와 다른 부케들의 이웃 목록이 같이 바뀌므로 항상 전체 재빌드
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        requestRebuild(REBUILD_DELAY_MILLIS);
+    }
+
+    /**
+     * 비슷한 부케 ID (유사도 내림차순 → 부케 ID 오름차순, 최대 limit 개)
+     * - 아직 테이블이 없거나 테이블을 만든 뒤 추가된 부케면 빈 목록
+     */
+    public List<Long> neighbours(long bouquetId, int limit) {
+        Table current = table;
+        if (current == null) {
+            return List.of();
+        }
+        return current.neighbours(bouquetId, limit);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        rebuildExecutor.shutdownNow();
+        computePool.shutdownNow();
+        rebuildExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        computePool.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    // ================== 빌드 ==================
+
+    /**
+     * 백그라운드 재빌드 예약 (이미 대기 중인 재빌드가 있으면 합친다)
+     */
+    private void requestRebuild(long delayMillis) {
+        if (!rebuildQueued.compareAndSet(false, true)) {
+            return;
+        }
+        rebuildExecutor.schedule(() -> {
+            rebuildQueued.set(false);
+            try {
+                table = buildTimer.recordCallable(this::build);
+            } catch (Exception e) {
+                log.error("[BouquetSimilarityTable] 유사 부케 테이블 빌드 실패. 기존 테이블을 계속 사용합니다.", e);
+            }
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private Table build() {
+        long startNanos = System.nanoTime();
+
+        Features features = transactionTemplate.execute(status -> loadFeatures());
+        int n = features.ids().length;
+        Signatures signatures = Signatures.of(features);
+
+        // 1) 시그니처마다 속성 유사도 상위 TOP_N + 1 개
+        long[][] attributeCandidates = new long[signatures.count()][];
+        computePool.invoke(new RangeTask(0, signatures.count(),
+                (from, to) -> {
+                    for (int g = from; g < to; g++) {
+                        attributeCandidates[g] = topByAttributes(features, signatures, g);
+                    }
+                }));
+
+        // 2) 부케마다 후보 점수 계산 → 상위 TOP_N
+        long[] neighbourIds = new long[n * TOP_N];
+        int[] neighbourCounts = new int[n];
+        computePool.invoke(new RangeTask(0, n,
+                (from, to) -> computeNeighbours(features, signatures, attributeCandidates, from, to, neighbourIds, neighbourCounts)));
+
+        log.info("[BouquetSimilarityTable] 사전 계산 완료. bouquets={}, signatures={}, terms={}, elapsed={}ms",
+                n, signatures.count(), features.termCount(), (System.nanoTime() - startNanos) / 1_000_000);
+        return new Table(features.ids(), neighbourIds, neighbourCounts);
+    }
+
+    /**
+     * 시그니처 g 의 부케와 (속성 유사도 내림차순 → ID 오름차순) 기준 상위 TOP_N + 1 개 부케 ID
+     * - 시그니처끼리 비교 O(시그니처 수), 각 시그니처에서 앞쪽 TOP_N + 1 개만 보면 충분
+     * - 속성 점수 값은 (일치 개수, 값 개수, 값 개수) 조합이라 몇 가지뿐 → 높은 점수부터 채우다가 다 차면 멈춤
+     */
+    private static long[] topByAttributes(Features features, Signatures signatures, int g) {
+        int limit = TOP_N + 1;
+        int groupCount = signatures.count();
+
+        int[] scores = new int[groupCount];
+        int[] distinct = new int[groupCount];
+        int distinctCount = 0;
+        for (int h = 0; h < groupCount; h++) {
+            int score = attributeScore(features, signatures.representative(g), signatures.representative(h));
+            scores[h] = score;
+            if (score > 0 && indexOf(distinct, distinctCount, score) < 0) {
+                distinct[distinctCount++] = score;
+            }
+        }
+        Arrays.sort(distinct, 0, distinctCount);
+
+        // 점수 값별로 시그니처 묶기 (계수 정렬, 높은 점수가 앞)
+        int[] bucketStarts = new int[distinctCount + 1];
+        int[] bucketOf = new int[groupCount];
+        for (int h = 0; h < groupCount; h++) {
+            if (scores[h] > 0) {
+                bucketOf[h] = distinctCount - 1 - indexOf(distinct, distinctCount, scores[h]);
+                bucketStarts[bucketOf[h] + 1]++;
+            }
+        }
+        for (int v = 0; v < distinctCount; v++) {
+            bucketStarts[v + 1] += bucketStarts[v];
+        }
+        int[] ordered = new int[bucketStarts[distinctCount]];
+        int[] next = Arrays.copyOf(bucketStarts, distinctCount);
+        for (int h = 0; h < groupCount; h++) {
+            if (scores[h] > 0) {
+                ordered[next[bucketOf[h]]++] = h;
+            }
+        }
+
+        TopKSelector selector = new TopKSelector(limit);
+        int offered = 0;
+        // 점수가 같은 시그니처끼리는 ID 순으로 겨루므로 한 점수 값은 끝까지 다 넣고 나서 멈춤
+        for (int v = 0; v < distinctCount && offered < limit; v++) {
+            int score = distinct[distinctCount - 1 - v];
+            for (int k = bucketStarts[v]; k < bucketStarts[v + 1]; k++) {
+                int h = ordered[k];
+                int end = Math.min(signatures.start(h) + limit, signatures.start(h + 1));
+                for (int p = signatures.start(h); p < end; p++) {
+                    selector.offer(features.ids()[signatures.member(p)], score);
+                    offered++;
+                }
+            }
+        }
+
+        List<ScoredId> ranked = selector.drain();
+        long[] ids = new long[ranked.size()];
+        for (int k = 0; k < ids.length; k++) {
+            ids[k] = ranked.get(k).id();
+        }
+        return ids;
+    }
+
+    private static int indexOf(int[] values, int size, int value) {
+        for (int k = 0; k < size; k++) {
+            if (values[k] == value) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 부케 [from, to) 의 이웃 계산
+     * - 텍스트 내적은 역색인 posting 을 훑어서 누적 (같은 gram 이 없는 부케는 건드리지 않음)
+     * - 후보 = 텍스트 내적이 있는 부케 ∪ 내 시그니처의 속성 상위 후보
+     */
+    private static void computeNeighbours(
+            Features features,
+            Signatures signatures,
+            long[][] attributeCandidates,
+            int from,
+            int to,
+            long[] neighbourIds,
+            int[] neighbourCounts
+    ) {
+        long[] ids = features.ids();
+        float[] textScores = new float[ids.length];
+        int[] touched = new int[ids.length];
+
+        for (int i = from; i < to; i++) {
+            int touchedCount = 0;
+            for (int p = features.termStart(i); p < features.termStart(i + 1); p++) {
+                int term = features.termIds()[p];
+                float weight = features.termWeights()[p];
+                for (int q = features.postingStart(term); q < features.postingStart(term + 1); q++) {
+                    int j = features.postingDocs()[q];
+                    if (textScores[j] == 0f) {
+                        touched[touchedCount++] = j;
+                    }
+                    textScores[j] += weight * features.postingWeights()[q];
+                }
+            }
+
+            TopKSelector selector = new TopKSelector(TOP_N);
+            for (int t = 0; t < touchedCount; t++) {
+                int j = touched[t];
+                if (j != i) {
+                    offer(selector, features, i, j, textScores[j]);
+                }
+            }
+            for (long candidateId : attributeCandidates[signatures.signatureOf(i)]) {
+                int j = Arrays.binarySearch(ids, candidateId);
+                if (j != i && textScores[j] == 0f) {
+                    offer(selector, features, i, j, 0f);
+                }
+            }
+
+            List<ScoredId> ranked = selector.drain();
+            for (int k = 0; k < ranked.size(); k++) {
+                neighbourIds[i * TOP_N + k] = ranked.get(k).id();
+            }
+            neighbourCounts[i] = ranked.size();
+
+            for (int t = 0; t < touchedCount; t++) {
+                textScores[touched[t]] = 0f;
+            }
+        }
+    }
+
+    private static void offer(TopKSelector selector, Features features, int i, int j, float textScore) {
+        int score = attributeScore(features, i, j) + Math.round(textScore * SCORE_SCALE);
+        if (score > 0) {
+            selector.offer(features.ids()[j], score);
+        }
+    }
+
+    /**
+     * 속성 유사도 × ATTRIBUTE_WEIGHT × SCORE_SCALE (one-hot 코사인 = 일치 개수 / √(값 개수 × 값 개수))
+     */
+    private static int attributeScore(Features features, int a, int b) {
+        byte[] attributes = features.attributes();
+        int baseA = a * ATTRIBUTE_COUNT;
+        int baseB = b * ATTRIBUTE_COUNT;
+        int countA = 0;
+        int countB = 0;
+        int matches = 0;
+        for (int k = 0; k < ATTRIBUTE_COUNT; k++) {
+            byte valueA = attributes[baseA + k];
+            byte valueB = attributes[baseB + k];
+            if (valueA >= 0) {
+                countA++;
+            }
+            if (valueB >= 0) {
+                countB++;
+            }
+            if (valueA >= 0 && valueA == valueB) {
+                matches++;
+            }
+        }
+        return ATTRIBUTE_SCORES[matches][countA][countB];
+    }
+
+    private static int[][][] attributeScoreTable() {
+        int[][][] table = new int[ATTRIBUTE_COUNT + 1][ATTRIBUTE_COUNT + 1][ATTRIBUTE_COUNT + 1];
+        for (int m = 1; m <= ATTRIBUTE_COUNT; m++) {
+            for (int a = m; a <= ATTRIBUTE_COUNT; a++) {
+                for (int b = m; b <= ATTRIBUTE_COUNT; b++) {
+                    table[m][a][b] = (int) Math.round(ATTRIBUTE_WEIGHT * m / Math.sqrt(a * b) * SCORE_SCALE);
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * 부케 ID 오름차순으로 속성 + 희소 텍스트 벡터 + 역색인 생성 (트랜잭션 안에서 호출)
+     * - 텍스트는 두 번 스트리밍: 1) 문서 빈도 2) 부케별 TF-IDF 상위 gram (부케별 빈도 맵을 전부 들고 있지 않음)
+     */
+    private Features loadFeatures() {
+        // 1) 카테고리 속성 (부케당 첫 번째 카테고리 행만 사용, 값 없음 = -1)
+        List<Long> idList = new ArrayList<>();
+        List<byte[]> attributeList = new ArrayList<>();
+        try (Stream<BouquetFeatureRow> rows = bouquetRepository.streamAllFeatureRows()) {
+            Iterator<BouquetFeatureRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                BouquetFeatureRow row = iterator.next();
+                if (!idList.isEmpty() && idList.get(idList.size() - 1).equals(row.bouquetId())) {
+                    continue;
+                }
+                idList.add(row.bouquetId());
+                attributeList.add(new byte[]{
+                        ordinal(row.season()),
+                        ordinal(row.dressMood()),
+                        ordinal(row.dressSilhouette()),
+                        ordinal(row.weddingColor()),
+                        ordinal(row.bouquetAtmosphere()),
+                        ordinal(row.usage())
+                });
+            }
+        }
+        int n = idList.size();
+        long[] ids = new long[n];
+        byte[] attributes = new byte[n * ATTRIBUTE_COUNT];
+        for (int i = 0; i < n; i++) {
+            ids[i] = idList.get(i);
+            System.arraycopy(attributeList.get(i), 0, attributes, i * ATTRIBUTE_COUNT, ATTRIBUTE_COUNT);
+        }
+
+        // 2) 문서 빈도
+        Map<String, Integer> documentFrequencies = new HashMap<>();
+        try (Stream<BouquetSearchRow> rows = bouquetRepository.streamAllSearchRows()) {
+            Iterator<BouquetSearchRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                BouquetSearchRow row = iterator.next();
+                if (Arrays.binarySearch(ids, row.bouquetId()) < 0) {
+                    continue;
+                }
+                for (String gram : termFrequencies(row).keySet()) {
+                    documentFrequencies.merge(gram, 1, Integer::sum);
+                }
+            }
+        }
+        int maxDf = Math.max(MIN_MAX_DF, (int) (n * MAX_DF_RATIO));
+
+        // 3) 부케별 TF-IDF 상위 TERMS_PER_DOC 개 gram → 길이 √TEXT_WEIGHT 로 정규화
+        Map<String, Integer> termIndex = new HashMap<>();
+        int[][] docTerms = new int[n][];
+        float[][] docWeights = new float[n][];
+        try (Stream<BouquetSearchRow> rows = bouquetRepository.streamAllSearchRows()) {
+            Iterator<BouquetSearchRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                BouquetSearchRow row = iterator.next();
+                int position = Arrays.binarySearch(ids, row.bouquetId());
+                if (position < 0) {
+                    continue;
+                }
+
+                List<Map.Entry<String, Double>> weighted = new ArrayList<>();
+                for (Map.Entry<String, Integer> entry : termFrequencies(row).entrySet()) {
+                    int df = documentFrequencies.getOrDefault(entry.getKey(), 0);
+                    // 한 부케에만 나온 gram 은 어떤 쌍의 유사도에도 기여하지 않음
+                    if (df >= 2 && df <= maxDf) {
+                        double idf = Math.log((double) n / df) + 1;
+                        weighted.add(Map.entry(entry.getKey(), (1 + Math.log(entry.getValue())) * idf));
+                    }
+                }
+                weighted.sort(Map.Entry.<String, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()));
+                int size = Math.min(TERMS_PER_DOC, weighted.size());
+
+                double norm = 0;
+                for (int k = 0; k < size; k++) {
+                    norm += weighted.get(k).getValue() * weighted.get(k).getValue();
+                }
+                double factor = size == 0 ? 0 : Math.sqrt(TEXT_WEIGHT) / Math.sqrt(norm);
+
+                int[] terms = new int[size];
+                float[] weights = new float[size];
+                for (int k = 0; k < size; k++) {
+                    terms[k] = termIndex.computeIfAbsent(weighted.get(k).getKey(), key -> termIndex.size());
+                    weights[k] = (float) (weighted.get(k).getValue() * factor);
+                }
+                docTerms[position] = terms;
+                docWeights[position] = weights;
+            }
+        }
+
+        return Features.of(ids, attributes, docTerms, docWeights, termIndex.size());
+    }
+
+    private static Map<String, Integer> termFrequencies(BouquetSearchRow row) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String gram : BouquetSearchIndex.grams(row.reason())) {
+            frequencies.merge(gram, 1, Integer::sum);
+        }
+        for (String gram : BouquetSearchIndex.grams(row.description())) {
+            frequencies.merge(gram, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+
+    private static byte ordinal(Enum<?> value) {
+        return value == null ? -1 : (byte) value.ordinal();
+    }
+
+    /**
+     * [from, to) 구간을 나눠서 병렬 실행
+     */
+    private static final class RangeTask extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final RangeBody body;
+
+        RangeTask(int from, int to, RangeBody body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > ROWS_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new RangeTask(from, mid, body), new RangeTask(mid, to, body));
+                return;
+            }
+            body.run(from, to);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RangeBody {
+        void run(int from, int to);
+    }
+
+    /**
+     * 부케 ID 오름차순 특성
+     * - attributes: 부케 i 의 속성 ordinal 은 [i * ATTRIBUTE_COUNT, (i + 1) * ATTRIBUTE_COUNT), 값 없음 = -1
+     * - 텍스트 벡터(CSR): 부케 i 의 gram 은 termIds/termWeights[termStarts[i], termStarts[i + 1])
+     * - 역색인(CSR): gram t 가 있는 부케는 postingDocs/postingWeights[postingStarts[t], postingStarts[t + 1])
+     */
+    private record Features(
+            long[] ids,
+            byte[] attributes,
+            int[] termStarts,
+            int[] termIds,
+            float[] termWeights,
+            int[] postingStarts,
+            int[] postingDocs,
+            float[] postingWeights
+    ) {
+
+        static Features of(long[] ids, byte[] attributes, int[][] docTerms, float[][] docWeights, int termCount) {
+            int n = ids.length;
+            int[] termStarts = new int[n + 1];
+            for (int i = 0; i < n; i++) {
+                termStarts[i + 1] = termStarts[i] + (docTerms[i] == null ? 0 : docTerms[i].length);
+            }
+            int nnz = termStarts[n];
+            int[] termIds = new int[nnz];
+            float[] termWeights = new float[nnz];
+            int[] postingStarts = new int[termCount + 1];
+            for (int i = 0; i < n; i++) {
+                if (docTerms[i] == null) {
+                    continue;
+                }
+                System.arraycopy(docTerms[i], 0, termIds, termStarts[i], docTerms[i].length);
+                System.arraycopy(docWeights[i], 0, termWeights, termStarts[i], docWeights[i].length);
+                for (int term : docTerms[i]) {
+                    postingStarts[term + 1]++;
+                }
+            }
+            for (int t = 0; t < termCount; t++) {
+                postingStarts[t + 1] += postingStarts[t];
+            }
+
+            // 부케 순서대로 채우므로 posting 안은 부케 번호 오름차순
+            int[] postingDocs = new int[nnz];
+            float[] postingWeights = new float[nnz];
+            int[] next = Arrays.copyOf(postingStarts, termCount);
+            for (int i = 0; i < n; i++) {
+                for (int p = termStarts[i]; p < termStarts[i + 1]; p++) {
+                    int slot = next[termIds[p]]++;
+                    postingDocs[slot] = i;
+                    postingWeights[slot] = termWeights[p];
+                }
+            }
+            return new Features(ids, attributes, termStarts, termIds, termWeights, postingStarts, postingDocs, postingWeights);
+        }
+
+        int termStart(int doc) {
+            return termStarts[doc];
+        }
+
+        int postingStart(int term) {
+            return postingStarts[term];
+        }
+
+        int termCount() {
+            return postingStarts.length - 1;
+        }
+    }
+
+    /**
+     * 속성 조합(시그니처)별 부케 묶음
+     * - members[starts[g], starts[g + 1]) 이 시그니처 g 의 부케 번호 (부케 ID 오름차순)
+     */
+    private record Signatures(int[] signatureOfDoc, int[] starts, int[] members) {
+
+        static Signatures of(Features features) {
+            int n = features.ids().length;
+            Map<String, Integer> numbers = new HashMap<>();
+            int[] signatureOfDoc = new int[n];
+            for (int i = 0; i < n; i++) {
+                String key = Arrays.toString(Arrays.copyOfRange(
+                        features.attributes(), i * ATTRIBUTE_COUNT, (i + 1) * ATTRIBUTE_COUNT));
+                signatureOfDoc[i] = numbers.computeIfAbsent(key, k -> numbers.size());
+            }
+
+            int count = numbers.size();
+            int[] starts = new int[count + 1];
+            for (int i = 0; i < n; i++) {
+                starts[signatureOfDoc[i] + 1]++;
+            }
+            for (int g = 0; g < count; g++) {
+                starts[g + 1] += starts[g];
+            }
+            int[] members = new int[n];
+            int[] next = Arrays.copyOf(starts, count);
+            for (int i = 0; i < n; i++) {
+                members[next[signatureOfDoc[i]]++] = i;
+            }
+            return new Signatures(signatureOfDoc, starts, members);
+        }
+
+        int count() {
+            return starts.length - 1;
+        }
+
+        int signatureOf(int doc) {
+            return signatureOfDoc[doc];
+        }
+
+        int start(int signature) {
+            return starts[signature];
+        }
+
+        int member(int position) {
+            return members[position];
+        }
+
+        /**
+         * 속성 비교용 대표 부케 번호 (같은 시그니처면 속성이 모두 같음)
+         */
+        int representative(int signature) {
+            return members[starts[signature]];
+        }
+    }
+
+    /**
+     * 불변 테이블: 부케 ID 오름차순, 부케마다 TOP_N 칸씩 이웃 ID
+     */
+    private record Table(long[] ids, long[] neighbourIds, int[] neighbourCounts) {
+
+        List<Long> neighbours(long bouquetId, int limit) {
+            int position = Arrays.binarySearch(ids, bouquetId);
+            if (position < 0) {
+                return List.of();
+            }
+            int count = Math.min(limit, neighbourCounts[position]);
+            List<Long> result = new ArrayList<>(count);
+            for (int k = 0; k < count; k++) {
+                result.add(neighbourIds[position * TOP_N + k]);
+            }
+            return result;
+        }
+    }
+}
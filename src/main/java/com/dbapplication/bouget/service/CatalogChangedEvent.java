@@ -0,0 +1,18 @@
+package com.dbapplication.bouget.service;
+
+/**
+ * 부케 카탈로그(bouquets / bouquet_categories / store)가 변경되었을 때 발행되는 이벤트
+ * - 메모리에 올려둔 카탈로그 기반 인덱스/캐시들이 이 이벤트를 보고 갱신된다
+ *
+ * @param source    변경을 일으킨 엔티티/작업 이름 (로그용)
+ * @param bouquetId 변경된 부케 ID (여러 부케가 한꺼번에 바뀐 경우 등 특정할 수 없으면 null)
+ */
+public record CatalogChangedEvent(String source, Long bouquetId) {
+
+    /**
+     * 부케를 특정할 수 없는 변경 (전체 갱신 필요)
+     */
+    public CatalogChangedEvent(String source) {
+        this(source, null);
+    }
+}
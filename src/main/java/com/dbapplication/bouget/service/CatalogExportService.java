@@ -0,0 +1,101 @@
+package com.dbapplication.bouget.service;
+
+import com.dbapplication.bouget.dto.BouquetDetailResponse;
+import com.dbapplication.bouget.repository.BouquetDetailRow;
+import com.dbapplication.bouget.repository.BouquetRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 카탈로그 전체 내보내기 (NDJSON: 한 줄에 부케 하나, GET /bouquets/{id} 와 같은 모양)
+ * - DB 커서(fetchSize = Integer.MIN_VALUE)에서 한 행 읽을 때마다 바로 JSON 한 줄을 출력 스트림에 씀
+ *   → 결과 전체나 엔티티 그래프를 메모리에 올리지 않으므로 부케 수와 상관없이 힙 사용량 일정
+ * - 카테고리/스토어가 여러 개 붙은 부케는 상세 화면과 같이 첫 행만 사용
+ */
+@Slf4j
+@Service
+public class CatalogExportService {
+
+    // 이 행 수마다 한 번씩 flush (클라이언트가 진행 상황을 볼 수 있게)
+    private static final int FLUSH_EVERY = 1000;
+
+    private final BouquetRepository bouquetRepository;
+    private final BouquetResponseAssembler bouquetResponseAssembler;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter lineWriter;
+
+    public CatalogExportService(
+            BouquetRepository bouquetRepository,
+            BouquetResponseAssembler bouquetResponseAssembler,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper
+    ) {
+        this.bouquetRepository = bouquetRepository;
+        this.bouquetResponseAssembler = bouquetResponseAssembler;
+        this.objectMapper = objectMapper;
+
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        // 값 하나 쓸 때마다 flush 하지 않도록 (FLUSH_EVERY 행마다 직접 flush)
+        this.lineWriter = objectMapper.writerFor(BouquetDetailResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * 전체 부케를 NDJSON 으로 out 에 씀 (out 은 호출한 쪽에서 닫음)
+     *
+     * @return 내보낸 부케 수
+     */
+    public long exportNdjson(OutputStream out) throws IOException {
+        long startNanos = System.nanoTime();
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            Long count = readOnlyTransaction.execute(status -> {
+                long written = 0;
+                Long previousId = null;
+                try (Stream<BouquetDetailRow> rows = bouquetRepository.streamAllDetailRows()) {
+                    Iterator<BouquetDetailRow> iterator = rows.iterator();
+                    while (iterator.hasNext()) {
+                        BouquetDetailRow row = iterator.next();
+                        if (row.bouquetId().equals(previousId)) {
+                            continue;
+                        }
+                        previousId = row.bouquetId();
+
+                        lineWriter.writeValue(generator, bouquetResponseAssembler.toDetailResponse(row));
+                        generator.writeRaw('\n');
+                        if (++written % FLUSH_EVERY == 0) {
+                            generator.flush();
+                        }
+                    }
+                } catch (IOException e) {
+                    // 클라이언트가 중간에 끊은 경우 등 → 커서를 닫고 트랜잭션 종료
+                    throw new UncheckedIOException(e);
+                }
+                return written;
+            });
+
+            log.info("[CatalogExport] 내보내기 완료. bouquets={}, elapsed={}ms",
+                    count, (System.nanoTime() - startNanos) / 1_000_000);
+            return count;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.dbapplication.bouget.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 카탈로그 가져오기 파일을 한 행씩 읽는 리더 (파일 전체를 메모리에 올리지 않음)
+ * - CSV: 첫 줄은 헤더, RFC 4180 따옴표 규칙 (따옴표 안의 콤마/줄바꿈 허용, "" 는 " 하나)
+ * - NDJSON: 한 줄에 JSON 객체 하나, 빈 줄은 건너뜀
+ * - 어느 형식이든 "컬럼명(소문자) → 문자열 값" Map 으로 돌려준다
+ * - 행 하나가 깨져 있으면 MalformedRowException 을 던지고, 다음 next() 는 그 다음 행부터 읽는다
+ *   (CSV 따옴표가 안 닫힌 행은 MAX_RECORD_LINES 줄 안에서 안 닫히면 깨진 행으로 보고 시작 줄 다음 줄부터 다시 읽음)
+ */
+final class CatalogImportReader implements Closeable {
+
+    // 따옴표 안 줄바꿈으로 레코드 하나가 이어질 수 있는 최대 줄 수
+    private static final int MAX_RECORD_LINES = 100;
+
+    private final BufferedReader reader;
+    // 깨진 CSV 레코드에서 되돌려 놓은 줄 (다음 레코드를 여기서부터 읽음)
+    private final Deque<String> pushedBack = new ArrayDeque<>();
+    private final CatalogImportService.Format format;
+    private final ObjectMapper objectMapper;
+
+    private List<String> header;
+    private long line;
+    private long recordLine;
+
+    CatalogImportReader(InputStream in, CatalogImportService.Format format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 다음 행 (파일 끝이면 null)
+     *
+     * @throws MalformedRowException 이 행만 깨져 있으면 (건너뛰고 다시 호출하면 됨)
+     */
+    Map<String, String> next() throws IOException {
+        return format == CatalogImportService.Format.CSV ? nextCsv() : nextNdjson();
+    }
+
+    /**
+     * 마지막으로 읽은 행이 시작된 줄 번호 (오류 로그용)
+     */
+    long line() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // ================== NDJSON ==================
+
+    private Map<String, String> nextNdjson() throws IOException {
+        String text;
+        do {
+            text = readLine();
+            if (text == null) {
+                return null;
+            }
+        } while (text.isBlank());
+        recordLine = line;
+
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(text);
+        } catch (JsonProcessingException e) {
+            throw new MalformedRowException("Invalid JSON. " + e.getOriginalMessage());
+        }
+        if (node == null || !node.isObject()) {
+            throw new MalformedRowException("NDJSON line is not an object.");
+        }
+
+        Map<String, String> row = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (!field.getValue().isNull()) {
+                row.put(field.getKey().toLowerCase(Locale.ROOT), field.getValue().asText());
+            }
+        }
+        return row;
+    }
+
+    // ================== CSV ==================
+
+    private Map<String, String> nextCsv() throws IOException {
+        if (header == null) {
+            List<String> names;
+            try {
+                names = readCsvRecord();
+            } catch (MalformedRowException e) {
+                // 헤더가 깨져 있으면 이후 행을 해석할 수 없으므로 전체 실패
+                throw new IllegalArgumentException("Malformed CSV header. " + e.getMessage());
+            }
+            if (names == null) {
+                return null;
+            }
+            header = new ArrayList<>(names.size());
+            for (String name : names) {
+                // 엑셀에서 저장한 UTF-8 BOM 제거
+                header.add(name.replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT));
+            }
+        }
+
+        List<String> values;
+        do {
+            values = readCsvRecord();
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.get(0).isEmpty());
+
+        Map<String, String> row = new HashMap<>();
+        for (int i = 0; i < header.size() && i < values.size(); i++) {
+            row.put(header.get(i), values.get(i));
+        }
+        return row;
+    }
+
+    /**
+     * CSV 레코드 하나 (따옴표 안 줄바꿈이면 다음 줄까지 이어서 읽음)
+     */
+    private List<String> readCsvRecord() throws IOException {
+        String text = readLine();
+        if (text == null) {
+            return null;
+        }
+        recordLine = line;
+        // 따옴표가 끝내 안 닫히면 되돌려 놓을 이어 읽은 줄들
+        List<String> continuation = new ArrayList<>();
+
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == text.length()) {
+                if (!quoted) {
+                    break;
+                }
+                // 따옴표가 안 닫혔으면 줄바꿈을 값에 포함하고 다음 줄 이어 읽기
+                text = continuation.size() < MAX_RECORD_LINES ? readLine() : null;
+                if (text == null) {
+                    // 이 레코드만 버리고 시작 줄 다음 줄부터 다시 읽도록 되돌려 놓음
+                    for (int k = continuation.size() - 1; k >= 0; k--) {
+                        pushedBack.addFirst(continuation.get(k));
+                    }
+                    line -= continuation.size();
+                    throw new MalformedRowException("Unterminated quoted CSV field.");
+                }
+                continuation.add(text);
+                current.append('\n');
+                i = 0;
+                continue;
+            }
+
+            char c = text.charAt(i++);
+            if (quoted) {
+                if (c == '"') {
+                    if (i < text.length() && text.charAt(i) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private String readLine() throws IOException {
+        String text = pushedBack.isEmpty() ? reader.readLine() : pushedBack.pollFirst();
+        if (text != null) {
+            line++;
+        }
+        return text;
+    }
+
+    /**
+     * 행 하나가 깨져 있음 (가져오기는 이 행만 건너뛰고 계속)
+     */
+    static final class MalformedRowException extends IllegalArgumentException {
+        MalformedRowException(String message) {
+            super(message);
+        }
+    }
+}
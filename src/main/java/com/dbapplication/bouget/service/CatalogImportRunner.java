@@ -0,0 +1,60 @@
+package com.dbapplication.bouget.service;
+
+import com.dbapplication.bouget.dto.CatalogImportResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 카탈로그 가져오기 CLI
+ * - catalog.import.file 이 지정됐을 때만 동작, 기동 직후 한 번 가져오기
+ * - 예) java -jar bouget.jar --spring.main.web-application-type=none \
+ *          --catalog.import.file=/data/bouquets.csv --catalog.import.images-root=/data --catalog.import.images-dir=images
+ *   (web-application-type=none 이면 가져오기가 끝나고 프로세스 종료)
+ * - 이 모드에서는 서버용 백그라운드 작업을 시작하지 않음 (ApplicationReadyEvent 리스너에 condition = SERVING)
+ *   합성 작업 워커(다른 사용자의 작업을 claim 하지 않도록), 카탈로그/추천/검색/유사 부케/이미지 캐시 미리 빌드
+ *   → 새 ApplicationReadyEvent 리스너를 추가할 때도 서버에서만 필요한 작업이면 같은 condition 을 붙일 것
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "catalog.import.file")
+public class CatalogImportRunner implements ApplicationRunner {
+
+    /**
+     * 가져오기 CLI 로 뜬 프로세스가 아닐 때만 (@EventListener condition 용 SpEL)
+     */
+    public static final String SERVING = "@environment.getProperty('catalog.import.file') == null";
+
+    private final CatalogImportService catalogImportService;
+    private final Environment environment;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Path file = Path.of(environment.getRequiredProperty("catalog.import.file"));
+        String imagesDir = environment.getProperty("catalog.import.images-dir");
+        CatalogImportService.Format format = CatalogImportService.Format.of(
+                environment.getProperty("catalog.import.format", file.getFileName().toString())
+        );
+
+        log.info("[CatalogImport] CLI 가져오기 시작. file={}, format={}, imagesDir={}", file, format, imagesDir);
+        try (InputStream in = Files.newInputStream(file)) {
+            CatalogImportResponse response = catalogImportService.importCatalog(
+                    in,
+                    format,
+                    catalogImportService.resolveImagesDir(imagesDir)
+            );
+            log.info("[CatalogImport] CLI 가져오기 끝. imported={}, skipped={}, images={}, elapsed={}ms",
+                    response.getImportedCount(), response.getSkippedCount(),
+                    response.getImageCount(), response.getElapsedMs());
+        }
+    }
+}
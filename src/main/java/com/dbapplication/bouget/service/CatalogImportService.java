@@ -0,0 +1,442 @@
+package com.dbapplication.bouget.service;
+
+import com.dbapplication.bouget.dto.CatalogImportResponse;
+import com.dbapplication.bouget.entity.enums.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 카탈로그(bouquets / bouquet_categories / store) 대량 가져오기
+ * - CSV / NDJSON 파일을 한 행씩 읽어서 CHUNK 단위로 모았다가, 청크마다 트랜잭션 하나로 JDBC 배치 insert
+ *   (JPA 엔티티를 거치지 않으므로 영속성 컨텍스트/엔티티 리스너 비용 없음, 메모리는 청크 크기만큼만 사용)
+ * - 이미지 컬럼은 images 디렉터리 기준 상대 경로 → file.upload-dir/bouquets/{내용 SHA-256}.{확장자} 로 복사 후
+ *   /images/bouquets/... 로 저장 (http(s):// 로 시작하면 그대로 저장)
+ *   파일명이 내용으로 정해지므로 a/rose.png, b/rose.png 가 섞이지 않고, 기존 부케가 쓰는 파일을 덮어쓰지 않음
+ * - 엔티티 리스너가 돌지 않으므로 끝난 뒤에 2차 캐시를 비우고 CatalogChangedEvent 를 한 번만 발행
+ *   → 스냅샷/인덱스들이 전체 재빌드
+ *
+ * 컬럼 (CSV 헤더 / NDJSON 키, 대소문자 무시)
+ * - name(필수), price, reason, description, image
+ * - season, dress_mood, dress_silhouette, wedding_color, bouquet_atmosphere, usage (enum 이름, 하나라도 있으면 카테고리 생성)
+ * - store_name, store_url, instagram_id (store_name 이 있으면 스토어 생성)
+ */
+@Slf4j
+@Service
+public class CatalogImportService {
+
+    private static final String INSERT_BOUQUET =
+            "INSERT INTO bouquets (name, price, reason, description, image_url) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_CATEGORY =
+            "INSERT INTO bouquet_categories (bouquet_id, season, dress_mood, dress_silhouette, wedding_color, bouquet_atmosphere, `usage`) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_STORE =
+            "INSERT INTO store (bouquet_id, store_name, store_url, instagram_id) VALUES (?, ?, ?, ?)";
+
+    // 복사된 부케 이미지 하위 경로 (upload-dir 기준, /images/** 로 서빙)
+    private static final String IMAGE_SUBDIR = "bouquets";
+
+    // 복사를 허용하는 이미지 확장자 (/images/** 로 그대로 서빙되므로 html/svg 같은 능동 콘텐츠는 제외)
+    private static final Set<String> IMAGE_EXTENSIONS = Set.of(".png", ".jpg", ".jpeg", ".webp", ".gif");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final String uploadDir;
+    private final String imagesRoot;
+    private final int chunkSize;
+
+    public CatalogImportService(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            EntityManagerFactory entityManagerFactory,
+            ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper,
+            @Value("${file.upload-dir}") String uploadDir,
+            @Value("${catalog.import.images-root:}") String imagesRoot,
+            @Value("${catalog.import.chunk-size:1000}") int chunkSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.uploadDir = uploadDir;
+        this.imagesRoot = imagesRoot;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 가져오기 파일 형식
+     */
+    public enum Format {
+        CSV, NDJSON;
+
+        /**
+         * 형식 이름(csv / ndjson / jsonl) 또는 파일 확장자로 판단
+         */
+        public static Format of(String formatOrFilename) {
+            String value = formatOrFilename == null ? "" : formatOrFilename.toLowerCase(Locale.ROOT);
+            if (value.equals("csv") || value.endsWith(".csv")) {
+                return CSV;
+            }
+            if (value.equals("ndjson") || value.equals("jsonl") || value.endsWith(".ndjson") || value.endsWith(".jsonl")) {
+                return NDJSON;
+            }
+            throw new IllegalArgumentException("Unsupported import format. format=" + formatOrFilename);
+        }
+    }
+
+    /**
+     * 요청으로 받은 이미지 디렉터리 → catalog.import.images-root 안의 실제 경로
+     * - 비어 있으면 null (이미지 복사 안 함)
+     * - 상대 경로는 images-root 기준, 절대 경로도 images-root 안이어야 함 (심볼릭 링크를 따라간 실제 경로로 확인)
+     * - images-root 가 설정되지 않았거나 밖을 가리키면 IllegalArgumentException
+     */
+    public Path resolveImagesDir(String imagesDir) throws IOException {
+        if (imagesDir == null || imagesDir.isBlank()) {
+            return null;
+        }
+        if (imagesRoot == null || imagesRoot.isBlank()) {
+            throw new IllegalArgumentException("catalog.import.images-root is not configured.");
+        }
+
+        Path root = Path.of(imagesRoot).toRealPath();
+        Path requested = root.resolve(imagesDir).normalize();
+        if (!requested.startsWith(root) || !Files.isDirectory(requested)) {
+            throw new IllegalArgumentException("images_dir must be a directory under images-root. images_dir=" + imagesDir);
+        }
+        Path real = requested.toRealPath();
+        if (!real.startsWith(root)) {
+            throw new IllegalArgumentException("images_dir must be a directory under images-root. images_dir=" + imagesDir);
+        }
+        return real;
+    }
+
+    /**
+     * 카탈로그 가져오기
+     *
+     * @param in        CSV / NDJSON 입력 (다 읽은 뒤 닫힘)
+     * @param format    입력 형식
+     * @param imagesDir 이미지 원본 디렉터리 (resolveImagesDir 로 확인한 경로, 없으면 image 컬럼은 URL 로만 취급)
+     */
+    public CatalogImportResponse importCatalog(InputStream in, Format format, Path imagesDir) throws IOException {
+        long startNanos = System.nanoTime();
+        Path imageTarget = Paths.get(uploadDir, IMAGE_SUBDIR);
+        Files.createDirectories(imageTarget);
+
+        int imported = 0;
+        int skipped = 0;
+        int images = 0;
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+
+        try (CatalogImportReader reader = new CatalogImportReader(in, format, objectMapper)) {
+            while (true) {
+                Map<String, String> values;
+                try {
+                    values = reader.next();
+                } catch (CatalogImportReader.MalformedRowException e) {
+                    log.warn("[CatalogImport] 깨진 행 건너뜀. line={}, message={}", reader.line(), e.getMessage());
+                    skipped++;
+                    continue;
+                }
+                if (values == null) {
+                    break;
+                }
+
+                ImportRow row;
+                try {
+                    row = ImportRow.from(values);
+                } catch (IllegalArgumentException e) {
+                    log.warn("[CatalogImport] 잘못된 행 건너뜀. line={}, message={}", reader.line(), e.getMessage());
+                    skipped++;
+                    continue;
+                }
+
+                String imageUrl = copyImage(row.image(), imagesDir, imageTarget);
+                if (imageUrl != null && !imageUrl.equals(row.image())) {
+                    images++;
+                }
+                chunk.add(row.withImageUrl(imageUrl));
+
+                if (chunk.size() == chunkSize) {
+                    imported += writeChunk(chunk);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                imported += writeChunk(chunk);
+            }
+        } finally {
+            // 일부 청크만 커밋되고 실패해도, 이미 들어간 행은 화면에 반영되도록 항상 갱신
+            if (imported > 0) {
+                refreshCatalog();
+            }
+        }
+
+        long elapsedMs = (System.nanoTime() - startNanos) / 1_000_000;
+        log.info("[CatalogImport] 가져오기 완료. format={}, imported={}, skipped={}, images={}, elapsed={}ms",
+                format, imported, skipped, images, elapsedMs);
+
+        return CatalogImportResponse.builder()
+                .format(format.name())
+                .importedCount(imported)
+                .skippedCount(skipped)
+                .imageCount(images)
+                .elapsedMs(elapsedMs)
+                .build();
+    }
+
+    /**
+     * 청크 하나를 트랜잭션 하나로 저장
+     * - bouquets 배치 insert 후 생성된 ID 를 받아서 카테고리/스토어 배치 insert
+     */
+    private int writeChunk(List<ImportRow> chunk) {
+        return transactionTemplate.execute(status -> {
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT_BOUQUET, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            ImportRow row = chunk.get(i);
+                            ps.setString(1, row.name());
+                            ps.setInt(2, row.price());
+                            ps.setString(3, row.reason());
+                            ps.setString(4, row.description());
+                            ps.setString(5, row.image());
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    },
+                    keyHolder
+            );
+
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            if (keys.size() != chunk.size()) {
+                throw new IllegalStateException("Generated key count mismatch. expected=" + chunk.size() + ", actual=" + keys.size());
+            }
+
+            List<Object[]> categories = new ArrayList<>();
+            List<Object[]> stores = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                long bouquetId = ((Number) keys.get(i).values().iterator().next()).longValue();
+                ImportRow row = chunk.get(i);
+                if (row.hasCategory()) {
+                    categories.add(new Object[]{
+                            bouquetId,
+                            name(row.season()),
+                            name(row.dressMood()),
+                            name(row.dressSilhouette()),
+                            name(row.weddingColor()),
+                            name(row.bouquetAtmosphere()),
+                            name(row.usage())
+                    });
+                }
+                if (row.storeName() != null) {
+                    stores.add(new Object[]{bouquetId, row.storeName(), row.storeUrl(), row.instagramId()});
+                }
+            }
+
+            // enum 컬럼은 null 이 섞여 있어서 타입을 명시
+            if (!categories.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_CATEGORY, categories, new int[]{
+                        Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR
+                });
+            }
+            if (!stores.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_STORE, stores, new int[]{Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR});
+            }
+            return chunk.size();
+        });
+    }
+
+    /**
+     * 이미지 복사 → 저장할 image_url
+     * - 비어 있으면 null, http(s) URL 이면 그대로
+     * - images 디렉터리 밖을 가리키는 경로(../, 심볼릭 링크 등)와 이미지가 아닌 확장자는 거부 (null)
+     * - 같은 내용의 파일이 이미 있으면 복사하지 않고 그 파일을 사용 (기존 파일은 절대 덮어쓰지 않음)
+     */
+    private String copyImage(String image, Path imagesDir, Path imageTarget) throws IOException {
+        if (image == null) {
+            return null;
+        }
+        if (image.startsWith("http://") || image.startsWith("https://") || imagesDir == null) {
+            return image;
+        }
+
+        Path base = imagesDir.toRealPath();
+        Path source = base.resolve(image).normalize();
+        if (!source.startsWith(base) || !Files.isRegularFile(source)) {
+            log.warn("[CatalogImport] 이미지 파일 없음. image={}", image);
+            return null;
+        }
+        // 심볼릭 링크로 images 디렉터리 밖 파일을 가리키는 경우도 거부
+        source = source.toRealPath();
+        if (!source.startsWith(base)) {
+            log.warn("[CatalogImport] images 디렉터리 밖 이미지 거부. image={}", image);
+            return null;
+        }
+
+        String extension = extension(source.getFileName().toString());
+        if (!IMAGE_EXTENSIONS.contains(extension)) {
+            log.warn("[CatalogImport] 허용하지 않는 이미지 확장자. image={}", image);
+            return null;
+        }
+
+        String filename = sha256Hex(source) + extension;
+        Path target = imageTarget.resolve(filename);
+        if (!Files.exists(target)) {
+            // 임시 파일로 다 복사한 뒤 이름을 바꿔서, 중간에 실패해도 반쯤 쓴 파일이 최종 이름으로 남지 않게
+            Path temp = Files.createTempFile(imageTarget, ".import-", ".tmp");
+            try {
+                Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(temp, target);
+            } catch (FileAlreadyExistsException e) {
+                // 그 사이 같은 내용이 먼저 들어옴 → 그대로 사용
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+        return "/images/" + IMAGE_SUBDIR + "/" + filename;
+    }
+
+    private static String sha256Hex(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * ".png" 처럼 점 포함 소문자 확장자 (없으면 빈 문자열)
+     */
+    private static String extension(String filename) {
+        int idx = filename.lastIndexOf('.');
+        if (idx <= 0 || idx == filename.length() - 1) {
+            return "";
+        }
+        return filename.substring(idx).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * JDBC 로 직접 넣었으므로 2차 캐시(엔티티 + 쿼리 결과)를 비우고 카탈로그 전체 갱신 이벤트 발행
+     */
+    private void refreshCatalog() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        eventPublisher.publishEvent(new CatalogChangedEvent("CatalogImport"));
+    }
+
+    private static String name(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+
+    /**
+     * 가져오기 행 하나 (검증/변환 완료)
+     */
+    record ImportRow(
+            String name,
+            int price,
+            String reason,
+            String description,
+            String image,
+            Season season,
+            DressMood dressMood,
+            DressSilhouette dressSilhouette,
+            WeddingColor weddingColor,
+            BouquetAtmosphere bouquetAtmosphere,
+            Usage usage,
+            String storeName,
+            String storeUrl,
+            String instagramId
+    ) {
+
+        static ImportRow from(Map<String, String> values) {
+            String name = text(values, "name");
+            if (name == null) {
+                throw new IllegalArgumentException("name is required.");
+            }
+            String price = text(values, "price");
+
+            return new ImportRow(
+                    name,
+                    price == null ? 0 : Integer.parseInt(price.replace(",", "")),
+                    text(values, "reason"),
+                    text(values, "description"),
+                    text(values, "image"),
+                    enumValue(Season.class, values, "season"),
+                    enumValue(DressMood.class, values, "dress_mood"),
+                    enumValue(DressSilhouette.class, values, "dress_silhouette"),
+                    enumValue(WeddingColor.class, values, "wedding_color"),
+                    enumValue(BouquetAtmosphere.class, values, "bouquet_atmosphere"),
+                    enumValue(Usage.class, values, "usage"),
+                    text(values, "store_name"),
+                    text(values, "store_url"),
+                    text(values, "instagram_id")
+            );
+        }
+
+        ImportRow withImageUrl(String imageUrl) {
+            return new ImportRow(name, price, reason, description, imageUrl,
+                    season, dressMood, dressSilhouette, weddingColor, bouquetAtmosphere, usage,
+                    storeName, storeUrl, instagramId);
+        }
+
+        boolean hasCategory() {
+            return season != null || dressMood != null || dressSilhouette != null
+                    || weddingColor != null || bouquetAtmosphere != null || usage != null;
+        }
+
+        private static String text(Map<String, String> values, String key) {
+            String value = values.get(key);
+            return value == null || value.isBlank() ? null : value.trim();
+        }
+
+        private static <E extends Enum<E>> E enumValue(Class<E> type, Map<String, String> values, String key) {
+            String value = text(values, key);
+            return value == null ? null : Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package com.dbapplication.bouget.service;
+
+import com.dbapplication.bouget.dto.BouquetCategoryResponse;
+import com.dbapplication.bouget.dto.BouquetFacetResponse;
+import com.dbapplication.bouget.dto.BouquetFilter;
+import com.dbapplication.bouget.dto.BouquetResponse;
+import com.dbapplication.bouget.entity.enums.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * 부케 카탈로그 불변 스냅샷 (메모리)
+ * - 부케 ID 오름차순으로 미리 만들어둔 리스트용 응답 DTO를 보관 (상세는 BouquetCatalog 의 상세 캐시)
+ * - 카테고리 속성 6개는 enum 값마다 BitSet 하나 (비트 i = i번째 부케)
+ *   → 같은 속성 안에서는 OR, 속성끼리는 AND 후 슬라이스
+ * - 가격은 가격 오름차순 위치 배열 → 이분 탐색으로 범위를 잘라 BitSet 으로 변환
+ * - 한 번 만들어지면 바뀌지 않고, 카탈로그가 바뀌면 BouquetCatalog 가 새 스냅샷으로 통째로 교체
+ *   (필터별 계산 결과 캐시도 스냅샷에 붙어 있어서 교체와 함께 자동으로 버려진다)
+ */
+public final class CatalogSnapshot {
+
+    // 필터 조건 배열 인덱스
+    private static final int SEASON = 0;
+    private static final int DRESS_MOOD = 1;
+    private static final int DRESS_SILHOUETTE = 2;
+    private static final int WEDDING_COLOR = 3;
+    private static final int ATMOSPHERE = 4;
+    private static final int USAGE = 5;
+    private static final int PRICE = 6;
+    private static final int CONDITION_COUNT = 7;
+
+    // 필터 조합별 계산 결과 캐시 크기 (LRU)
+    private static final int FILTER_CACHE_SIZE = 256;
+
+    private final long[] ids;
+    private final BouquetResponse[] bouquets;
+
+    private final BitSet[] seasonBits;
+    private final BitSet[] dressMoodBits;
+    private final BitSet[] dressSilhouetteBits;
+    private final BitSet[] weddingColorBits;
+    private final BitSet[] atmosphereBits;
+    private final BitSet[] usageBits;
+
+    // 가격 오름차순으로 정렬한 부케 위치 + 그 가격 (같은 인덱스끼리 짝)
+    private final int[] positionsByPrice;
+    private final int[] sortedPrices;
+
+    private final Map<BouquetFilter, Matches> matchCache = lruCache(FILTER_CACHE_SIZE);
+    private final Map<BouquetFilter, BouquetFacetResponse> facetCache = lruCache(FILTER_CACHE_SIZE);
+
+    CatalogSnapshot(long[] ids, BouquetResponse[] bouquets) {
+        this.ids = ids;
+        this.bouquets = bouquets;
+
+        this.seasonBits = newBitSets(Season.values().length);
+        this.dressMoodBits = newBitSets(DressMood.values().length);
+        this.dressSilhouetteBits = newBitSets(DressSilhouette.values().length);
+        this.weddingColorBits = newBitSets(WeddingColor.values().length);
+        this.atmosphereBits = newBitSets(BouquetAtmosphere.values().length);
+        this.usageBits = newBitSets(Usage.values().length);
+
+        for (int i = 0; i < bouquets.length; i++) {
+            BouquetCategoryResponse category = bouquets[i].getCategories();
+            if (category == null) {
+                continue;
+            }
+            set(seasonBits, category.getSeason(), i);
+            set(dressMoodBits, category.getDressMood(), i);
+            set(dressSilhouetteBits, category.getDressSilhouette(), i);
+            set(weddingColorBits, category.getWeddingColor(), i);
+            set(atmosphereBits, category.getBouquetAtmosphere(), i);
+            set(usageBits, category.getUsage(), i);
+        }
+
+        this.positionsByPrice = IntStream.range(0, bouquets.length)
+                .boxed()
+                .sorted(Comparator.comparingInt(i -> bouquets[i].getPrice()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        this.sortedPrices = new int[positionsByPrice.length];
+        for (int i = 0; i < positionsByPrice.length; i++) {
+            sortedPrices[i] = bouquets[positionsByPrice[i]].getPrice();
+        }
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * 부케 ID로 리스트용 응답 조회 (ID 오름차순 배열 이분 탐색)
+     */
+    public Optional<BouquetResponse> bouquet(long bouquetId) {
+        int position = Arrays.binarySearch(ids, bouquetId);
+        return position >= 0 ? Optional.of(bouquets[position]) : Optional.empty();
+    }
+
+    /**
+     * 속성값별 부케 개수 (필터 조합별로 캐시)
+     * - 속성마다 "자기 조건을 뺀 나머지 조건" 교집합을 한 번 만들고,
+     *   값별 비트셋과 AND 한 뒤 popcount
+     */
+    public BouquetFacetResponse facets(BouquetFilter filter) {
+        return cached(facetCache, filter, this::computeFacets);
+    }
+
+    /**
+     * 필터에 맞는 부케들 중 pageable 범위만 잘라서 Page 로 반환 (전체 개수는 캐시된 비트 수)
+     */
+    public Page<BouquetResponse> page(BouquetFilter filter, Pageable pageable) {
+        Matches matches = matches(filter);
+        return new PageImpl<>(slice(matches.bits(), pageable, pageable.getPageSize()), pageable, matches.count());
+    }
+
+    /**
+     * 필터에 맞는 부케들 중 pageable 범위만 잘라서 Slice 로 반환 (전체 개수 없이 다음 페이지 여부만)
+     */
+    public Slice<BouquetResponse> slice(BouquetFilter filter, Pageable pageable) {
+        int limit = pageable.getPageSize();
+
+        // 한 개 더 읽어서 다음 페이지가 있는지 판단
+        List<BouquetResponse> content = slice(matches(filter).bits(), pageable, limit + 1);
+        boolean hasNext = content.size() > limit;
+        return new SliceImpl<>(hasNext ? content.subList(0, limit) : content, pageable, hasNext);
+    }
+
+    /**
+     * 필터에 맞는 부케 위치 집합 + 개수 (필터 조합별로 캐시, 캐시된 BitSet 은 읽기만 한다)
+     * - 비트 연산만 하므로 조건이 얼마나 좁든 넓든 비용은 (카탈로그 크기 / 64) 수준으로 일정
+     * - 같은 필터의 2페이지 이후는 다시 계산하지 않음
+     */
+    private Matches matches(BouquetFilter filter) {
+        return cached(matchCache, filter, f -> {
+            BitSet bits = intersect(conditions(f), -1);
+            return new Matches(bits, bits.cardinality());
+        });
+    }
+
+    private List<BouquetResponse> slice(BitSet matches, Pageable pageable, int limit) {
+        long offset = pageable.getOffset();
+
+        List<BouquetResponse> content = new ArrayList<>(Math.min(limit, ids.length));
+        long skipped = 0;
+        for (int i = matches.nextSetBit(0); i >= 0 && content.size() < limit; i = matches.nextSetBit(i + 1)) {
+            if (skipped < offset) {
+                skipped++;
+                continue;
+            }
+            content.add(bouquets[i]);
+        }
+        return content;
+    }
+
+    private BouquetFacetResponse computeFacets(BouquetFilter filter) {
+        BitSet[] conditions = conditions(filter);
+
+        return BouquetFacetResponse.builder()
+                .totalCount(matches(filter).count())
+                .season(count(Season.class, seasonBits, intersect(conditions, SEASON)))
+                .dressMood(count(DressMood.class, dressMoodBits, intersect(conditions, DRESS_MOOD)))
+                .dressSilhouette(count(DressSilhouette.class, dressSilhouetteBits, intersect(conditions, DRESS_SILHOUETTE)))
+                .weddingColor(count(WeddingColor.class, weddingColorBits, intersect(conditions, WEDDING_COLOR)))
+                .bouquetAtmosphere(count(BouquetAtmosphere.class, atmosphereBits, intersect(conditions, ATMOSPHERE)))
+                .usage(count(Usage.class, usageBits, intersect(conditions, USAGE)))
+                .build();
+    }
+
+    /**
+     * 필터를 조건별 비트셋 배열로 변환 (조건이 없는 자리는 null)
+     */
+    private BitSet[] conditions(BouquetFilter filter) {
+        BitSet[] conditions = new BitSet[CONDITION_COUNT];
+        conditions[SEASON] = anyOf(seasonBits, filter.seasons());
+        conditions[DRESS_MOOD] = anyOf(dressMoodBits, filter.dressMoods());
+        conditions[DRESS_SILHOUETTE] = anyOf(dressSilhouetteBits, filter.dressSilhouettes());
+        conditions[WEDDING_COLOR] = anyOf(weddingColorBits, filter.weddingColors());
+        conditions[ATMOSPHERE] = anyOf(atmosphereBits, filter.bouquetAtmospheres());
+        conditions[USAGE] = anyOf(usageBits, filter.usages());
+        if (filter.hasPriceRange()) {
+            conditions[PRICE] = priceRange(filter.minPrice(), filter.maxPrice());
+        }
+        return conditions;
+    }
+
+    /**
+     * skip 자리를 제외한 조건들의 교집합 (전부 제외면 전체)
+     */
+    private BitSet intersect(BitSet[] conditions, int skip) {
+        BitSet matches = new BitSet(ids.length);
+        matches.set(0, ids.length);
+
+        for (int i = 0; i < conditions.length; i++) {
+            if (i != skip && conditions[i] != null) {
+                matches.and(conditions[i]);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * minPrice 이상 maxPrice 이하 부케 위치 집합 (null 쪽은 열린 구간)
+     */
+    private BitSet priceRange(Integer minPrice, Integer maxPrice) {
+        int from = minPrice == null ? 0 : lowerBound(sortedPrices, minPrice);
+        int to = maxPrice == null ? sortedPrices.length : upperBound(sortedPrices, maxPrice);
+
+        BitSet range = new BitSet(ids.length);
+        for (int i = from; i < to; i++) {
+            range.set(positionsByPrice[i]);
+        }
+        return range;
+    }
+
+    /**
+     * 값 목록 중 하나라도 해당하는 부케 위치 집합 (OR). 값이 없으면 null = 조건 없음
+     */
+    private static BitSet anyOf(BitSet[] bitSets, Collection<? extends Enum<?>> values) {
+        if (values.isEmpty()) {
+            return null;
+        }
+        BitSet any = new BitSet();
+        for (Enum<?> value : values) {
+            any.or(bitSets[value.ordinal()]);
+        }
+        return any;
+    }
+
+    /**
+     * base 중에서 enum 값별로 몇 개인지 (교집합 popcount)
+     */
+    private static <E extends Enum<E>> Map<E, Long> count(Class<E> type, BitSet[] bitSets, BitSet base) {
+        Map<E, Long> counts = new EnumMap<>(type);
+        for (E value : type.getEnumConstants()) {
+            BitSet intersection = (BitSet) bitSets[value.ordinal()].clone();
+            intersection.and(base);
+            counts.put(value, (long) intersection.cardinality());
+        }
+        return counts;
+    }
+
+    // 첫 번째로 value 이상인 위치
+    private static int lowerBound(int[] sorted, int value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // 첫 번째로 value 초과인 위치
+    private static int upperBound(int[] sorted, int value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 캐시 조회, 없으면 계산해서 넣음
+     * - computeIfAbsent 는 계산하는 동안 맵 전체 락을 잡으므로, 락 밖에서 계산하고 넣기만 락 안에서
+     *   (같은 필터를 동시에 계산할 수는 있지만 결과는 같으므로 먼저 들어간 값을 씀)
+     */
+    private static <K, V> V cached(Map<K, V> cache, K key, Function<K, V> compute) {
+        V value = cache.get(key);
+        if (value != null) {
+            return value;
+        }
+        value = compute.apply(key);
+        V previous = cache.putIfAbsent(key, value);
+        return previous != null ? previous : value;
+    }
+
+    private static <K, V> Map<K, V> lruCache(int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    private static BitSet[] newBitSets(int count) {
+        BitSet[] bitSets = new BitSet[count];
+        for (int i = 0; i < count; i++) {
+            bitSets[i] = new BitSet();
+        }
+        return bitSets;
+    }
+
+    private static void set(BitSet[] bitSets, Enum<?> value, int index) {
+        if (value != null) {
+            bitSets[value.ordinal()].set(index);
+        }
+    }
+
+    /**
+     * 필터 결과 (부케 위치 비트셋 + 개수)
+     */
+    private record Matches(BitSet bits, long count) {}
+}
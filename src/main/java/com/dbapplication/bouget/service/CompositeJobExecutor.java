@@ -0,0 +1,144 @@
+package com.dbapplication.bouget.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 가상 피팅 합성 파이프라인 실행기
+ * - 파일 읽기 → FastAPI 호출 → 결과 다운로드/저장은 전부 논블로킹이라 작업마다 스레드를 잡지 않음
+ *   → 동시에 진행 중인 작업 수(max-in-flight)만 제한
+ * - DB 조회/상태 갱신처럼 블로킹인 짧은 단계만 고정 크기 스레드 풀(blockingScheduler)에서 실행
+ * - 메트릭
+ *   composite.jobs.in-flight : 진행 중인 합성 작업 수, composite.jobs.duration : 작업 하나 처리 시간
+ *   executor.active / executor.queued / executor.idle (name=composite 태그) : 블로킹 단계용 스레드 풀 상태
+ */
+@Slf4j
+@Component
+public class CompositeJobExecutor {
+
+    // 작업 하나가 blockingScheduler 에 제출하는 최대 단계 수 (ApplyImage 조회, complete, complete 실패 시 fail)
+    static final int BLOCKING_STEPS_PER_JOB = 3;
+
+    private final ThreadPoolExecutor threadPool;
+    private final Scheduler blockingScheduler;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Timer durationTimer;
+
+    public CompositeJobExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${composite.executor.concurrency:4}") int concurrency,
+            @Value("${composite.executor.queue-capacity:0}") int queueCapacity,
+            @Value("${composite.executor.max-in-flight:200}") int maxInFlight
+    ) {
+        // 진행 중인 작업이 전부 블로킹 단계를 제출해도 넘치지 않도록 (안 넘치면 complete / fail 이 거절될 일이 없음)
+        int minCapacity = maxInFlight * BLOCKING_STEPS_PER_JOB;
+        if (queueCapacity <= 0) {
+            queueCapacity = minCapacity;
+        } else if (queueCapacity < minCapacity) {
+            log.warn("[CompositeJobExecutor] queue-capacity 가 max-in-flight × {} 보다 작음. 대기열이 차면 작업 상태 기록이 거절될 수 있음. queueCapacity={}, maxInFlight={}",
+                    BLOCKING_STEPS_PER_JOB, queueCapacity, maxInFlight);
+        }
+
+        this.threadPool = new ThreadPoolExecutor(
+                concurrency,
+                concurrency,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                workerThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.threadPool.prestartAllCoreThreads();
+        this.maxInFlight = maxInFlight;
+
+        // 감싼 executor 로 제출해야 대기 시간(executor.idle)/실행 시간이 기록됨
+        ExecutorService monitored = ExecutorServiceMetrics.monitor(meterRegistry, threadPool, "composite", Tags.empty());
+        this.blockingScheduler = Schedulers.fromExecutorService(monitored, "composite-blocking");
+
+        Gauge.builder("composite.jobs.in-flight", inFlight, AtomicInteger::get)
+                .description("진행 중인 합성 작업 수")
+                .register(meterRegistry);
+        this.durationTimer = Timer.builder("composite.jobs.duration")
+                .description("합성 작업 하나를 시작해서 끝낼 때까지 걸린 시간")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 지금 더 시작할 수 있는 작업 수
+     * - max-in-flight - 진행 중인 작업, 그리고 블로킹 단계 대기열에 남은 자리 / BLOCKING_STEPS_PER_JOB 중 작은 값
+     */
+    public int availableSlots() {
+        if (threadPool.isShutdown()) {
+            return 0;
+        }
+        int byInFlight = maxInFlight - inFlight.get();
+        int byQueue = threadPool.getQueue().remainingCapacity() / BLOCKING_STEPS_PER_JOB;
+        return Math.max(0, Math.min(byInFlight, byQueue));
+    }
+
+    /**
+     * DB 조회/상태 갱신 등 블로킹 호출용 스케줄러 (Mono.fromCallable(...).subscribeOn(...) 으로 사용)
+     * - 스레드 수가 고정이라 진행 중인 작업이 많아도 DB 커넥션을 concurrency 개 넘게 쓰지 않음
+     */
+    public Scheduler blockingScheduler() {
+        return blockingScheduler;
+    }
+
+    /**
+     * 합성 파이프라인 시작 (구독만 하고 바로 반환)
+     * - 실패 처리(재시도 예약 등)는 pipeline 안에서 끝내야 함, 여기서는 로그만 남김
+     */
+    public void execute(Mono<?> pipeline) {
+        inFlight.incrementAndGet();
+        Timer.Sample sample = Timer.start();
+        pipeline
+                .doFinally(signal -> {
+                    inFlight.decrementAndGet();
+                    sample.stop(durationTimer);
+                })
+                .subscribe(
+                        result -> { },
+                        e -> log.error("[CompositeJobExecutor] 처리되지 않은 합성 파이프라인 오류", e)
+                );
+    }
+
+    /**
+     * 종료 시 새 작업은 받지 않고, 실행 중인 블로킹 단계는 잠깐 기다려준다
+     * (못 끝낸 작업은 lease 가 만료되면 다른 노드가 다시 가져감)
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        threadPool.shutdown();
+        if (!threadPool.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("[CompositeJobExecutor] 종료 대기 시간 초과. 남은 작업={}", threadPool.shutdownNow().size());
+        }
+    }
+
+    private static ThreadFactory workerThreadFactory() {
+        AtomicInteger sequence = new AtomicInteger();
+        return r -> {
+            // 종료는 @PreDestroy 가 처리, 이 스레드 때문에 JVM 이 안 끝나는 일이 없도록 (CLI 가져오기 등)
+            Thread thread = new Thread(r, "composite-blocking-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,218 @@
+package com.dbapplication.bouget.service;
+
+import com.dbapplication.bouget.entity.ApplyImage;
+import com.dbapplication.bouget.entity.CompositeJob;
+import com.dbapplication.bouget.entity.enums.CompositeJobStatus;
+import com.dbapplication.bouget.repository.ApplyImageRepository;
+import com.dbapplication.bouget.repository.CompositeJobRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DB(composite_job) 기반 합성 작업 큐
+ * - 요청 처리 쪽: ApplyImage 와 같은 트랜잭션에서 작업 추가 (커밋되면 어떤 노드든 가져갈 수 있음)
+ * - 워커 쪽(CompositeJobWorker): claim → 실행 → complete / fail
+ * - 실패하면 base × 2^(시도 횟수 - 1) (+ 지터, 최대 max-backoff) 뒤에 다시 시도, max-attempts 를 넘으면 FAILED
+ */
+@Slf4j
+@Service
+public class CompositeJobQueue {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final CompositeJobRepository compositeJobRepository;
+    private final ApplyImageRepository applyImageRepository;
+    private final Duration leaseDuration;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final long maxBacklog;
+
+    // 마지막 폴링 때 센 대기 작업 수 (요청마다 count 쿼리를 하지 않도록)
+    private final AtomicLong backlog = new AtomicLong();
+    private final Counter rejectedCounter;
+
+    public CompositeJobQueue(
+            CompositeJobRepository compositeJobRepository,
+            ApplyImageRepository applyImageRepository,
+            MeterRegistry meterRegistry,
+            @Value("${composite.queue.lease-seconds:60}") long leaseSeconds,
+            @Value("${composite.queue.max-attempts:3}") int maxAttempts,
+            @Value("${composite.queue.base-backoff-seconds:10}") long baseBackoffSeconds,
+            @Value("${composite.queue.max-backoff-seconds:300}") long maxBackoffSeconds,
+            @Value("${composite.queue.max-backlog:500}") long maxBacklog
+    ) {
+        this.compositeJobRepository = compositeJobRepository;
+        this.applyImageRepository = applyImageRepository;
+        this.leaseDuration = Duration.ofSeconds(leaseSeconds);
+        this.maxAttempts = maxAttempts;
+        this.baseBackoff = Duration.ofSeconds(baseBackoffSeconds);
+        this.maxBackoff = Duration.ofSeconds(maxBackoffSeconds);
+        this.maxBacklog = maxBacklog;
+
+        Gauge.builder("composite.queue.backlog", backlog, AtomicLong::get)
+                .description("DB 큐에서 실행을 기다리는 합성 작업 수 (전체 노드)")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("composite.jobs.rejected")
+                .description("대기 작업이 너무 많아서 거절된 합성 요청 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 작업 추가 (호출한 쪽 트랜잭션에 참여)
+     */
+    @Transactional
+    public void enqueue(Long applyImageId) {
+        compositeJobRepository.save(CompositeJob.builder()
+                .applyImageId(applyImageId)
+                .nextRunAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * 대기 작업이 max-backlog 이상인지 (요청 시작 전에 확인해서 바로 거절하기 위함)
+     */
+    public boolean isBacklogFull() {
+        boolean full = backlog.get() >= maxBacklog;
+        if (full) {
+            rejectedCounter.increment();
+        }
+        return full;
+    }
+
+    /**
+     * 대기 작업 수 갱신 (워커가 폴링할 때마다)
+     */
+    @Transactional(readOnly = true)
+    public void refreshBacklog() {
+        backlog.set(compositeJobRepository.countByStatus(CompositeJobStatus.QUEUED));
+    }
+
+    /**
+     * 실행할 작업을 최대 limit 개 가져와서 이 노드 것으로 표시
+     * - lease 가 만료된 작업을 먼저, 남은 자리만큼 대기 작업 (인덱스를 타도록 쿼리를 나눔)
+     * - 이미 최대 시도 횟수만큼 가져갔던 작업(lease 만료로 돌아온 경우)은 실행하지 않고 FAILED
+     *
+     * @return 이 노드가 실행할 작업들
+     */
+    @Transactional
+    public List<ClaimedJob> claim(String owner, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+
+        List<CompositeJob> claimable = new ArrayList<>(compositeJobRepository.lockExpiredLeases(now, limit));
+        if (claimable.size() < limit) {
+            claimable.addAll(compositeJobRepository.lockQueued(now, limit - claimable.size()));
+        }
+        return claimLocked(claimable, owner, now);
+    }
+
+    /**
+     * 잠근 작업들을 이 노드 것으로 표시 (시도 횟수를 다 쓴 작업은 FAILED)
+     */
+    List<ClaimedJob> claimLocked(List<CompositeJob> claimable, String owner, LocalDateTime now) {
+        List<ClaimedJob> claimed = new ArrayList<>();
+        for (CompositeJob job : claimable) {
+            if (job.getAttempts() >= maxAttempts) {
+                log.warn("[CompositeJobQueue] lease 만료 후 재시도 횟수 초과. jobId={}, applyImageId={}",
+                        job.getId(), job.getApplyImageId());
+                failApplyImage(job, "lease expired after " + job.getAttempts() + " attempts");
+                continue;
+            }
+            job.claim(owner, now.plus(leaseDuration));
+            claimed.add(new ClaimedJob(job.getId(), job.getApplyImageId(), job.getAttempts()));
+        }
+        return claimed;
+    }
+
+    /**
+     * 실행 중인 작업들의 lease 연장
+     */
+    @Transactional
+    public void heartbeat(String owner, Collection<Long> jobIds) {
+        if (jobIds.isEmpty()) {
+            return;
+        }
+        compositeJobRepository.extendLeases(jobIds, owner, LocalDateTime.now().plus(leaseDuration));
+    }
+
+    /**
+     * 성공: 작업 DONE + ApplyImage DONE (lease 를 이미 잃었으면 아무것도 하지 않음)
+     * - 작업 행은 읽지 않고 조건부 UPDATE 로 바로 바꿈 → 읽고 쓰는 사이에 다른 노드가 가져가도 덮어쓰지 않음
+     */
+    @Transactional
+    public void complete(ClaimedJob claimed, String owner, String genImageUrl) {
+        if (compositeJobRepository.completeOwned(claimed.jobId(), owner, claimed.attempts()) == 0) {
+            logLostLease(claimed);
+            return;
+        }
+        applyImageRepository.findById(claimed.applyImageId())
+                .ifPresent(applyImage -> applyImage.markDone(genImageUrl));
+    }
+
+    /**
+     * 실패: 시도 횟수가 남았으면 늦춰서 다시 대기, 아니면 작업 FAILED + ApplyImage FAILED
+     * - complete 와 마찬가지로 lease 를 잃었으면 아무것도 하지 않음
+     */
+    @Transactional
+    public void fail(ClaimedJob claimed, String owner, Throwable cause) {
+        String error = truncate(cause.getClass().getSimpleName() + ": " + cause.getMessage());
+
+        if (claimed.attempts() >= maxAttempts) {
+            if (compositeJobRepository.failOwned(claimed.jobId(), owner, claimed.attempts(), error) == 0) {
+                logLostLease(claimed);
+                return;
+            }
+            applyImageRepository.findById(claimed.applyImageId()).ifPresent(ApplyImage::markFailed);
+            return;
+        }
+
+        LocalDateTime nextRunAt = LocalDateTime.now().plus(backoff(claimed.attempts()));
+        if (compositeJobRepository.retryOwned(claimed.jobId(), owner, claimed.attempts(), nextRunAt, error) == 0) {
+            logLostLease(claimed);
+            return;
+        }
+        log.warn("[CompositeJobQueue] 합성 실패, 재시도 예약. jobId={}, attempts={}, nextRunAt={}",
+                claimed.jobId(), claimed.attempts(), nextRunAt);
+    }
+
+    private static void logLostLease(ClaimedJob claimed) {
+        log.warn("[CompositeJobQueue] lease 를 잃은 작업 결과 무시. jobId={}", claimed.jobId());
+    }
+
+    private void failApplyImage(CompositeJob job, String error) {
+        job.markFailed(error);
+        applyImageRepository.findById(job.getApplyImageId()).ifPresent(ApplyImage::markFailed);
+    }
+
+    /**
+     * attempts 번째 실패 뒤 대기 시간: base × 2^(attempts - 1), 최대 maxBackoff, ±20% 지터
+     */
+    private Duration backoff(int attempts) {
+        long baseMillis = baseBackoff.toMillis() << Math.min(attempts - 1, 20);
+        long millis = Math.min(baseMillis, maxBackoff.toMillis());
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return Duration.ofMillis((long) (millis * jitter));
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    /**
+     * 이 노드가 가져간 작업 (워커 스레드로 넘기는 값)
+     */
+    public record ClaimedJob(Long jobId, Long applyImageId, int attempts) {}
+}
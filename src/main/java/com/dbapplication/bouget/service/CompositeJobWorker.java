@@ -0,0 +1,147 @@
+package com.dbapplication.bouget.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.net.InetAddress;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DB 큐(CompositeJobQueue)에서 합성 작업을 가져와 실행하는 워커 (노드마다 하나)
+ * - poll-interval 마다 빈 자리(max-in-flight - 진행 중)만큼 claim → CompositeJobExecutor 로 파이프라인 시작
+ * - 실행 중인 작업은 lease 의 1/3 주기로 heartbeat (노드가 죽으면 lease 만료 → 다른 노드가 가져감)
+ * - composite.queue.worker-enabled=false 면 이 노드는 작업을 넣기만 하고 실행하지 않음
+ */
+@Slf4j
+@Component
+public class CompositeJobWorker {
+
+    private final CompositeJobQueue compositeJobQueue;
+    private final CompositeJobExecutor compositeJobExecutor;
+    private final ApplyImageService applyImageService;
+    private final boolean enabled;
+    private final long pollIntervalMillis;
+    private final long heartbeatIntervalMillis;
+
+    // 이 노드 식별자 (lease_owner)
+    private final String owner;
+
+    // 이 노드가 가져가서 아직 끝나지 않은 작업 ID (heartbeat 대상)
+    private final Set<Long> runningJobIds = ConcurrentHashMap.newKeySet();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "composite-job-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CompositeJobWorker(
+            CompositeJobQueue compositeJobQueue,
+            CompositeJobExecutor compositeJobExecutor,
+            ApplyImageService applyImageService,
+            @Value("${composite.queue.worker-enabled:true}") boolean enabled,
+            @Value("${composite.queue.poll-interval-ms:1000}") long pollIntervalMillis,
+            @Value("${composite.queue.lease-seconds:60}") long leaseSeconds
+    ) {
+        this.compositeJobQueue = compositeJobQueue;
+        this.compositeJobExecutor = compositeJobExecutor;
+        this.applyImageService = applyImageService;
+        this.enabled = enabled;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.heartbeatIntervalMillis = TimeUnit.SECONDS.toMillis(leaseSeconds) / 3;
+        this.owner = nodeName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @EventListener(value = ApplicationReadyEvent.class, condition = CatalogImportRunner.SERVING)
+    public void start() {
+        if (!enabled) {
+            log.info("[CompositeJobWorker] 워커 비활성 (composite.queue.worker-enabled=false)");
+            return;
+        }
+        scheduler.scheduleWithFixedDelay(this::poll, 0, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::heartbeat, heartbeatIntervalMillis, heartbeatIntervalMillis, TimeUnit.MILLISECONDS);
+        log.info("[CompositeJobWorker] 워커 시작. owner={}", owner);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        scheduler.shutdownNow();
+        scheduler.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private void poll() {
+        try {
+            compositeJobQueue.refreshBacklog();
+
+            int slots = compositeJobExecutor.availableSlots();
+            if (slots == 0) {
+                return;
+            }
+
+            List<CompositeJobQueue.ClaimedJob> claimed = compositeJobQueue.claim(owner, slots);
+            for (CompositeJobQueue.ClaimedJob job : claimed) {
+                runningJobIds.add(job.jobId());
+                compositeJobExecutor.execute(run(job));
+            }
+        } catch (Exception e) {
+            log.error("[CompositeJobWorker] 작업 폴링 실패", e);
+        }
+    }
+
+    /**
+     * 합성 파이프라인 → 작업 상태 기록 (complete / fail 은 DB 라 blockingScheduler 에서)
+     */
+    private Mono<Void> run(CompositeJobQueue.ClaimedJob job) {
+        Scheduler blockingScheduler = compositeJobExecutor.blockingScheduler();
+        log.info("Composite job start. jobId={}, applyImageId={}, attempt={}",
+                job.jobId(), job.applyImageId(), job.attempts());
+
+        return applyImageService.composite(job.applyImageId())
+                .flatMap(genImageUrl -> Mono.fromRunnable(() -> {
+                    compositeJobQueue.complete(job, owner, genImageUrl);
+                    log.info("Composite job done. jobId={}, genImageUrl={}", job.jobId(), genImageUrl);
+                }).subscribeOn(blockingScheduler))
+                .onErrorResume(e -> {
+                    log.error("Composite job failed. jobId=" + job.jobId() + ", applyImageId=" + job.applyImageId(), e);
+                    return Mono.fromRunnable(() -> compositeJobQueue.fail(job, owner, e))
+                            .subscribeOn(blockingScheduler)
+                            .onErrorResume(ex -> {
+                                // 상태 기록도 실패하면 lease 만료 후 다시 가져감
+                                log.error("Failed to record composite job failure. jobId=" + job.jobId(), ex);
+                                return Mono.empty();
+                            });
+                })
+                .doFinally(signal -> runningJobIds.remove(job.jobId()))
+                .then();
+    }
+
+    private void heartbeat() {
+        try {
+            compositeJobQueue.heartbeat(owner, Set.copyOf(runningJobIds));
+        } catch (Exception e) {
+            log.error("[CompositeJobWorker] lease 연장 실패", e);
+        }
+    }
+
+    private static String nodeName() {
+        try {
+            String hostName = InetAddress.getLocalHost().getHostName();
+            // lease_owner 컬럼(64자)에 UUID 접미사까지 들어가도록
+            return hostName.length() > 48 ? hostName.substring(0, 48) : hostName;
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+}
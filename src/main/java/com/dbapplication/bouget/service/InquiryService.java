@@ -10,6 +10,7 @@ import com.dbapplication.bouget.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -59,6 +60,30 @@ public class InquiryService {
         return page.map(this::toResponse);
     }
 
+    /**
+     * 내 문의 리스트 조회 (커서 기반)
+     * - cursor(마지막으로 받은 문의 id) 보다 작은 것부터, count 쿼리 없음
+     */
+    @Transactional(readOnly = true)
+    public Slice<InquiryResponse> getMyInquiriesBefore(Long userId, Long cursor, Pageable pageable) {
+        if (userId == null) {
+            throw new IllegalStateException("로그인이 필요합니다.");
+        }
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found. id=" + userId));
+
+        return inquiryRepository.findByUserAndIdLessThan(user, cursor, pageable)
+                .map(this::toResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public long countMyInquiries(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found. id=" + userId));
+        return inquiryRepository.countByUser(user);
+    }
+
     // === 내부 매핑 메서드 ===
 
     private InquiryResponse toResponse(Inquiry inquiry) {
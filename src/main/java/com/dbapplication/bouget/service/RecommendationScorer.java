@@ -0,0 +1,74 @@
+package com.dbapplication.bouget.service;
+
+import java.util.List;
+
+/**
+ * 추천 점수 계산 규칙 (가중치 + 정렬 기준)
+ * - RecommendationService(실시간 계산)와 RecommendationTable(사전 계산)이 같은 규칙을 쓰도록 한 곳에 모음
+ * - 세션/부케 속성은 BouquetFeatureIndex 의 패킹된 int 형식
+ */
+final class RecommendationScorer {
+
+    // 한 세션당 추천 부케 개수
+    static final int RECOMMENDATION_COUNT = 3;
+
+    // 가중치 상수
+    static final int WEIGHT_SILHOUETTE      = 10;
+    static final int WEIGHT_SEASON          = 9;
+    static final int WEIGHT_ATMOSPHERE      = 8;
+    static final int WEIGHT_DRESS_MOOD      = 7;
+    static final int WEIGHT_WEDDING_COLOR   = 7;
+
+    private RecommendationScorer() {
+    }
+
+    /**
+     * 세션 조건과 부케 속성을 비교해서 점수 계산
+     */
+    static int score(int sessionFeatures, int bouquetFeatures) {
+        int score = 0;
+
+        if (BouquetFeatureIndex.matches(sessionFeatures, bouquetFeatures, BouquetFeatureIndex.ATMOSPHERE_SHIFT)) {
+            score += WEIGHT_ATMOSPHERE;
+        }
+
+        if (BouquetFeatureIndex.matches(sessionFeatures, bouquetFeatures, BouquetFeatureIndex.SEASON_SHIFT)) {
+            score += WEIGHT_SEASON;
+        }
+
+        if (BouquetFeatureIndex.matches(sessionFeatures, bouquetFeatures, BouquetFeatureIndex.DRESS_SILHOUETTE_SHIFT)) {
+            score += WEIGHT_SILHOUETTE;
+        }
+
+        if (BouquetFeatureIndex.matches(sessionFeatures, bouquetFeatures, BouquetFeatureIndex.DRESS_MOOD_SHIFT)) {
+            score += WEIGHT_DRESS_MOOD;
+        }
+
+        if (BouquetFeatureIndex.matches(sessionFeatures, bouquetFeatures, BouquetFeatureIndex.WEDDING_COLOR_SHIFT)) {
+            score += WEIGHT_WEDDING_COLOR;
+        }
+
+        return score;
+    }
+
+    /**
+     * 분모용: 세션이 가진 조건 기준으로 "이론상 최대 점수"
+     * (세션에서 null인 조건은 분모에서 제외해서 정규화)
+     */
+    static int maxScore(int sessionFeatures) {
+        return score(sessionFeatures, sessionFeatures);
+    }
+
+    /**
+     * 점수 내림차순 → 부케 ID 오름차순으로 줄 세웠을 때 앞에서부터 limit개
+     * - 0점 초과인 부케가 limit개보다 적으면 0점 부케가 ID 순으로 뒤를 채운다
+     * - 전체 정렬 없이 크기 limit 짜리 힙만 사용 (카탈로그 크기와 무관한 메모리)
+     */
+    static List<ScoredId> rank(BouquetFeatureIndex.Snapshot index, int sessionFeatures, int limit) {
+        TopKSelector selector = new TopKSelector(limit);
+        for (int i = 0; i < index.size(); i++) {
+            selector.offer(index.idAt(i), score(sessionFeatures, index.featuresAt(i)));
+        }
+        return selector.drain();
+    }
+}
@@ -1,16 +1,12 @@
 package com.dbapplication.bouget.service;
 
-import com.dbapplication.bouget.dto.BouquetCategoryResponse;
 import com.dbapplication.bouget.dto.BouquetResponse;
 import com.dbapplication.bouget.dto.RecommendationItemResponse;
 import com.dbapplication.bouget.dto.RecommendationSessionRequest;
 import com.dbapplication.bouget.dto.RecommendationSessionResponse;
-import com.dbapplication.bouget.entity.Bouquet;
-import com.dbapplication.bouget.entity.BouquetCategory;
 import com.dbapplication.bouget.entity.RecommendationItem;
 import com.dbapplication.bouget.entity.RecommendationSession;
 import com.dbapplication.bouget.entity.User;
-import com.dbapplication.bouget.repository.BouquetCategoryRepository;
 import com.dbapplication.bouget.repository.BouquetRepository;
 import com.dbapplication.bouget.repository.RecommendationItemRepository;
 import com.dbapplication.bouget.repository.RecommendationSessionRepository;
@@ -21,14 +17,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Map;
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -38,16 +34,10 @@ public class RecommendationService {
     private final RecommendationItemRepository itemRepository;
     private final BouquetRepository bouquetRepository;
     private final UserRepository userRepository;
-    private final BouquetCategoryRepository bouquetCategoryRepository;
     private final AuthService authService;
-
-    // 가중치 상수
-    private static final int WEIGHT_SILHOUETTE      = 10;
-    private static final int WEIGHT_SEASON          = 9;
-    private static final int WEIGHT_ATMOSPHERE      = 8;
-    private static final int WEIGHT_DRESS_MOOD      = 7;
-    private static final int WEIGHT_WEDDING_COLOR   = 7;
-
+    private final BouquetFeatureIndex bouquetFeatureIndex;
+    private final RecommendationTable recommendationTable;
+    private final BouquetResponseAssembler bouquetResponseAssembler;
 
     /**
      * 추천 세션 생성 + 추천 아이템 3개 저장
@@ -68,45 +58,71 @@ public class RecommendationService {
 
         RecommendationSession savedSession = sessionRepository.save(session);
 
-        // 2. 추천 알고리즘으로 부케 3개 선정
-        List<Bouquet> recommendedBouquets = pickRecommendedBouquets(savedSession);
+        // 2. 추천 알고리즘으로 부케 3개 선정 (순위 순서, 부케 ID → 응답 DTO)
+        Map<Long, BouquetResponse> recommendedBouquets = pickRecommendedBouquets(savedSession);
 
-        // 3. RecommendationItem 저장
+        // 3. RecommendationItem 저장 (부케는 FK만 필요하므로 프록시 참조)
         List<RecommendationItem> itemsToSave = new ArrayList<>();
-        for (Bouquet bouquet : recommendedBouquets) {
+        for (Long bouquetId : recommendedBouquets.keySet()) {
             RecommendationItem item = RecommendationItem.builder()
                     .session(savedSession)
-                    .bouquet(bouquet)
+                    .bouquet(bouquetRepository.getReferenceById(bouquetId))
                     .build();
             itemsToSave.add(item);
         }
 
+        // 아이템 ID는 id_generator 에서 미리 받아둔 값이라 여기서는 insert 가 나가지 않고,
+        // 커밋 시점에 아이템 배치 insert 로 한 번에 flush 된다 (세션은 IDENTITY 라 save 할 때 이미 insert)
         List<RecommendationItem> savedItems = itemRepository.saveAll(itemsToSave);
 
-        // 4. 응답 DTO로 변환
-        List<RecommendationItemResponse> itemResponses = savedItems.stream()
-                .map(this::toItemResponse)
-                .toList();
+        // 4. 응답 DTO로 변환 (선정할 때 읽어둔 부케 정보 재사용)
+        List<RecommendationItemResponse> itemResponses = toItemResponses(savedItems, recommendedBouquets);
 
         return toSessionResponse(savedSession, itemResponses);
     }
 
     /**
      * 내 추천 세션 히스토리 조회
+     * - 세션 페이지 → 페이지 내 세션들의 아이템 한 번 → 부케(+카테고리) 한 번
+     * - 페이지 크기와 상관없이 쿼리 수가 고정
      */
     @Transactional(readOnly = true)
     public Page<RecommendationSessionResponse> getMySessions(Pageable pageable) {
         User user = getCurrentUser();
 
         Page<RecommendationSession> sessionPage = sessionRepository.findByUser(user, pageable);
+        Map<Long, List<RecommendationItemResponse>> itemsBySession = loadItemResponses(sessionPage.getContent());
 
-        return sessionPage.map(session -> {
-            List<RecommendationItem> items = itemRepository.findBySession(session);
-            List<RecommendationItemResponse> itemResponses = items.stream()
-                    .map(this::toItemResponse)
-                    .toList();
-            return toSessionResponse(session, itemResponses);
-        });
+        return sessionPage.map(session -> toSessionResponse(
+                session,
+                itemsBySession.getOrDefault(session.getId(), List.of())
+        ));
+    }
+
+    /**
+     * 내 추천 세션 히스토리 조회 (커서 기반)
+     * - cursor(마지막으로 받은 세션 id) 보다 작은 세션부터 pageable 크기만큼
+     * - count 쿼리 없이 다음 페이지 존재 여부만 확인
+     */
+    @Transactional(readOnly = true)
+    public Slice<RecommendationSessionResponse> getMySessionsBefore(Long cursor, Pageable pageable) {
+        User user = getCurrentUser();
+
+        Slice<RecommendationSession> sessionSlice = sessionRepository.findByUserAndIdLessThan(user, cursor, pageable);
+        Map<Long, List<RecommendationItemResponse>> itemsBySession = loadItemResponses(sessionSlice.getContent());
+
+        return sessionSlice.map(session -> toSessionResponse(
+                session,
+                itemsBySession.getOrDefault(session.getId(), List.of())
+        ));
+    }
+
+    /**
+     * 내 추천 세션 전체 개수
+     */
+    @Transactional(readOnly = true)
+    public long countMySessions() {
+        return sessionRepository.countByUser(getCurrentUser());
     }
 
     /**
@@ -117,12 +133,47 @@ public class RecommendationService {
         RecommendationSession session = sessionRepository.findById(sessionId)
                 .orElseThrow(() -> new IllegalArgumentException("RecommendationSession not found. id=" + sessionId));
 
-        List<RecommendationItem> items = itemRepository.findBySession(session);
-        List<RecommendationItemResponse> itemResponses = items.stream()
-                .map(this::toItemResponse)
-                .toList();
+        Map<Long, List<RecommendationItemResponse>> itemsBySession = loadItemResponses(List.of(session));
 
-        return toSessionResponse(session, itemResponses);
+        return toSessionResponse(session, itemsBySession.getOrDefault(session.getId(), List.of()));
+    }
+
+    // ================== 배치 조회 ==================
+
+    /**
+     * 여러 세션의 추천 아이템을 한 번에 조회해서 세션 ID별 응답으로 묶는다.
+     * - 아이템: IN 쿼리 한 번 (부케 엔티티는 읽지 않음)
+     * - 부케 + 카테고리: BouquetResponseAssembler 로 IN 쿼리 한 번
+     */
+    private Map<Long, List<RecommendationItemResponse>> loadItemResponses(List<RecommendationSession> sessions) {
+        if (sessions.isEmpty()) {
+            return Map.of();
+        }
+
+        List<RecommendationItem> items = itemRepository.findBySessionIn(sessions);
+        Map<Long, BouquetResponse> bouquetsById = bouquetResponseAssembler.toResponsesById(
+                items.stream().map(item -> item.getBouquet().getId()).distinct().toList()
+        );
+        List<RecommendationItemResponse> responses = toItemResponses(items, bouquetsById);
+
+        Map<Long, List<RecommendationItemResponse>> result = new HashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            result.computeIfAbsent(items.get(i).getSession().getId(), id -> new ArrayList<>())
+                    .add(responses.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * 아이템 목록 → 응답 DTO 목록 (부케 응답은 미리 조립해둔 것 사용)
+     */
+    private List<RecommendationItemResponse> toItemResponses(
+            List<RecommendationItem> items,
+            Map<Long, BouquetResponse> bouquetsById
+    ) {
+        return items.stream()
+                .map(item -> toItemResponse(item, bouquetsById.get(item.getBouquet().getId())))
+                .toList();
     }
 
     // ================== 매핑 메서드들 ==================
@@ -146,42 +197,13 @@ public class RecommendationService {
     /**
      * RecommendationItem -> RecommendationItemResponse
      * - bouquetName/Price/ImageUrl 대신 BouquetResponse + categories 로 내려줌
+     * - reason/description 은 리스트에서 빼고 상세(GET /bouquets/{id})에서만 내려줌
      */
-    private RecommendationItemResponse toItemResponse(RecommendationItem item) {
-        Bouquet bouquet = item.getBouquet();
-
-        // 부케 카테고리 조회
-        BouquetCategory categories = bouquetCategoryRepository.findByBouquet(bouquet);
-        BouquetCategoryResponse categoryResponses = toCategoryResponse(categories);
-
-        // BouquetResponse 생성 (카테고리 포함)
-        BouquetResponse bouquetResponse = BouquetResponse.builder()
-                .id(bouquet.getId())
-                .name(bouquet.getName())
-                .price(bouquet.getPrice())
-                .reason(bouquet.getReason())
-                .description(bouquet.getDescription())
-                .imageUrl(bouquet.getImageUrl())
-                .categories(categoryResponses)
-                .build();
-
+    private RecommendationItemResponse toItemResponse(RecommendationItem item, BouquetResponse bouquet) {
         return RecommendationItemResponse.builder()
                 .id(item.getId())
-                .bouquetId(bouquet.getId())
-                .bouquet(bouquetResponse)
-                .build();
-    }
-
-    private BouquetCategoryResponse toCategoryResponse(BouquetCategory category) {
-        return BouquetCategoryResponse.builder()
-                .id(category.getId())
-                .bouquetId(category.getBouquet().getId())
-                .season(category.getSeason())
-                .dressMood(category.getDressMood())
-                .dressSilhouette(category.getDressSilhouette())
-                .weddingColor(category.getWeddingColor())
-                .bouquetAtmosphere(category.getBouquetAtmosphere())
-                .usage(category.getUsage())
+                .bouquetId(item.getBouquet().getId())
+                .bouquet(bouquet)
                 .build();
     }
 
@@ -193,144 +215,73 @@ public class RecommendationService {
     // ================== 추천 알고리즘 ==================
     /**
      * "전체 부케 중 유사도 높은 3개"를 가져온다.
+     * - 사전 계산 테이블(RecommendationTable)에 있으면 그대로 사용
+     * - 없으면 메모리 인덱스(BouquetFeatureIndex)로 직접 계산 → 어느 쪽이든 DB 조회 없음
+     * - 선택된 부케는 응답에도 쓰이므로 응답 DTO 로 한 번에 조립해서 순위 순서대로 돌려준다
      */
-    private List<Bouquet> pickRecommendedBouquets(RecommendationSession session) {
-
-        // 세션 기준으로 나올 수 있는 최대 점수 (분모용)
-        int maxScore = calculateMaxScore(session);
-
-        List<Bouquet> allBouquets = bouquetRepository.findAll();
-
-        List<ScoredBouquet> scored = allBouquets.stream()
-                .map(bouquet -> new ScoredBouquet(
-                        bouquet,
-                        calculateScore(session, bouquet)
-                ))
-                .sorted(Comparator
-                        .comparingInt(ScoredBouquet::score).reversed()
-                        .thenComparing(sb -> sb.bouquet().getId()))
-                .toList();
-
-        // 0점 초과인 애들 위주로 최대 3개
-        List<ScoredBouquet> initiallyPicked = scored.stream()
-                .filter(sb -> sb.score() > 0)
-                .limit(3)
-                .toList();
-
-        List<Bouquet> result = initiallyPicked.stream()
-                .map(ScoredBouquet::bouquet)
-                .collect(Collectors.toCollection(ArrayList::new));
-
-        int beforeSize = result.size();
-
-        // 추천이 3개보다 적으면, 점수와 상관 없이 채워 넣기
-        if (result.size() < 3) {
-            int need = 3 - result.size();
-
-            Set<Long> alreadyPickedIds = result.stream()
-                    .map(Bouquet::getId)
-                    .collect(Collectors.toSet());
+    private Map<Long, BouquetResponse> pickRecommendedBouquets(RecommendationSession session) {
 
-            scored.stream()
-                    .map(ScoredBouquet::bouquet)
-                    .filter(b -> !alreadyPickedIds.contains(b.getId()))
-                    .limit(need)
-                    .forEach(result::add);
+        int sessionFeatures = toFeatures(session);
 
-            int added = result.size() - beforeSize;
-
-            if (added > 0) {
-                log.info(
-                        "[BouquetRecommendation] 추천 부케가 3개 미만이라 {}개를 점수와 무관하게 임의로 추가했습니다. (before={}, after={})",
-                        added, beforeSize, result.size()
-                );
-            }
+        // 세션 기준으로 나올 수 있는 최대 점수 (분모용)
+        int maxScore = RecommendationScorer.maxScore(sessionFeatures);
+
+        List<ScoredId> result = recommendationTable.lookup(sessionFeatures)
+                .orElseGet(() -> RecommendationScorer.rank(
+                        bouquetFeatureIndex.snapshot(),
+                        sessionFeatures,
+                        RecommendationScorer.RECOMMENDATION_COUNT
+                ));
+
+        // 0점 초과인 부케가 3개보다 적으면 0점 부케가 ID 순으로 채워져 있음
+        long added = result.stream()
+                .filter(scored -> scored.score() == 0)
+                .count();
+
+        if (added > 0) {
+            log.info(
+                    "[BouquetRecommendation] 추천 부케가 3개 미만이라 {}개를 점수와 무관하게 임의로 추가했습니다. (before={}, after={})",
+                    added, result.size() - added, result.size()
+            );
         }
 
         // === 최종 추천 결과 로그 (정확도 측정용) ===
         log.info("[BouquetRecommendation] sessionId={} 추천 결과 (추천 개수: {}, 최대점수: {})",
                 session.getId(), result.size(), maxScore);
 
-        for (Bouquet bouquet : result) {
-            int score = calculateScore(session, bouquet);
-
+        for (ScoredId scored : result) {
             // maxScore 기준으로 분모/분자 로그
             if (maxScore > 0) {
                 log.info(
                         "[BouquetRecommendation] 추천 bouquetId={} score={}/{} (정확도 비율: {}%)",
-                        bouquet.getId(),
-                        score,
+                        scored.id(),
+                        scored.score(),
                         maxScore,
-                        Math.round(score * 100.0 / maxScore)
+                        Math.round(scored.score() * 100.0 / maxScore)
                 );
             } else {
                 log.info(
                         "[BouquetRecommendation] 추천 bouquetId={} score=0/0 (세션 조건이 없어 최대점수가 0)",
-                        bouquet.getId()
+                        scored.id()
                 );
             }
         }
 
-        return result;
+        // 테이블 교체 전에 삭제된 부케가 있으면 건너뜀
+        return bouquetResponseAssembler.toResponsesById(result.stream().map(ScoredId::id).toList());
     }
 
     /**
-     * 세션 조건과 부케 정보를 비교해서 점수 계산
+     * 세션 조건을 인덱스와 같은 형식(패킹된 int)으로 변환
      */
-    private int calculateScore(RecommendationSession session, Bouquet bouquet) {
-        int score = 0;
-        BouquetCategory categories = bouquetCategoryRepository.findByBouquet(bouquet);
-
-        if (session.getBouquetAtmosphere() != null
-                && session.getBouquetAtmosphere() == categories.getBouquetAtmosphere()) {
-            score += WEIGHT_ATMOSPHERE;
-        }
-
-        if (session.getSeason() != null
-                && categories.getSeason() != null
-                && session.getSeason() == categories.getSeason()) {
-            score += WEIGHT_SEASON;
-        }
-
-        if (session.getDressSilhouette() != null
-                && categories.getDressSilhouette() != null
-                && session.getDressSilhouette() == categories.getDressSilhouette()) {
-            score += WEIGHT_SILHOUETTE;
-        }
-
-        if (session.getDressMood() != null
-                && categories.getDressMood() != null
-                && session.getDressMood() == categories.getDressMood()) {
-            score += WEIGHT_DRESS_MOOD;
-        }
-
-        if (session.getWeddingColor() != null
-                && categories.getWeddingColor() != null
-                && session.getWeddingColor() == categories.getWeddingColor()) {
-            score += WEIGHT_WEDDING_COLOR;
-        }
-
-        return score;
+    private int toFeatures(RecommendationSession session) {
+        return BouquetFeatureIndex.pack(
+                session.getSeason(),
+                session.getDressMood(),
+                session.getDressSilhouette(),
+                session.getWeddingColor(),
+                session.getBouquetAtmosphere(),
+                null
+        );
     }
-
-    /**
-     * 분모용: 세션이 가진 조건 기준으로 "이론상 최대 점수"
-     * (세션에서 null인 조건은 분모에서 제외해서 정규화)
-     */
-    private int calculateMaxScore(RecommendationSession session) {
-        int max = 0;
-
-        if (session.getBouquetAtmosphere() != null) max += WEIGHT_ATMOSPHERE;
-        if (session.getSeason() != null)           max += WEIGHT_SEASON;
-        if (session.getDressSilhouette() != null)  max += WEIGHT_SILHOUETTE;
-        if (session.getDressMood() != null)        max += WEIGHT_DRESS_MOOD;
-        if (session.getWeddingColor() != null)     max += WEIGHT_WEDDING_COLOR;
-
-        return max;
-    }
-
-    /**
-     * 부케 + 점수 묶음용 내부 레코드
-     */
-    private record ScoredBouquet(Bouquet bouquet, int score) {}
 }
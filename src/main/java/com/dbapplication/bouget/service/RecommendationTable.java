@@ -0,0 +1,224 @@
+package com.dbapplication.bouget.service;
+
+import com.dbapplication.bouget.entity.enums.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 추천 결과 사전 계산 테이블
+ * - 추천 입력값(시즌 × 드레스 무드 × 실루엣 × 예식 색감 × 부케 분위기)은 4^5 = 1024 가지뿐이라
+ *   조합마다 상위 3개 부케 ID를 미리 계산해둔다
+ * - 카탈로그가 바뀌면 백그라운드 스레드에서 새로 만들고, 다 만들어지면 통째로 교체
+ * - recommendation.precompute.enabled=false 이면 항상 miss → RecommendationService 가 직접 계산
+ */
+@Slf4j
+@Component
+public class RecommendationTable {
+
+    // 조합 키 계산용 (세션 속성 순서와 자리수)
+    private static final int[] SHIFTS = {
+            BouquetFeatureIndex.SEASON_SHIFT,
+            BouquetFeatureIndex.DRESS_MOOD_SHIFT,
+            BouquetFeatureIndex.DRESS_SILHOUETTE_SHIFT,
+            BouquetFeatureIndex.WEDDING_COLOR_SHIFT,
+            BouquetFeatureIndex.ATMOSPHERE_SHIFT
+    };
+    private static final int[] RADIXES = {
+            Season.values().length,
+            DressMood.values().length,
+            DressSilhouette.values().length,
+            WeddingColor.values().length,
+            BouquetAtmosphere.values().length
+    };
+    static final int COMBINATIONS = combinationCount();
+
+    private final BouquetFeatureIndex bouquetFeatureIndex;
+    private final boolean enabled;
+
+    private final AtomicReference<Table> table = new AtomicReference<>();
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean(false);
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "recommendation-table-builder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Timer buildTimer;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public RecommendationTable(
+            BouquetFeatureIndex bouquetFeatureIndex,
+            MeterRegistry meterRegistry,
+            @Value("${recommendation.precompute.enabled:false}") boolean enabled
+    ) {
+        this.bouquetFeatureIndex = bouquetFeatureIndex;
+        this.enabled = enabled;
+
+        this.buildTimer = Timer.builder("recommendation.table.build")
+                .description("추천 사전 계산 테이블 빌드 시간")
+                .register(meterRegistry);
+        this.hitCounter = Counter.builder("recommendation.table.lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("recommendation.table.lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("recommendation.table.bouquets", table, ref -> {
+                    Table current = ref.get();
+                    return current == null ? 0 : current.bouquetCount();
+                })
+                .description("현재 테이블을 만들 때 사용된 부케 수")
+                .register(meterRegistry);
+    }
+
+    @EventListener(value = ApplicationReadyEvent.class, condition = CatalogImportRunner.SERVING)
+    public void warmUp() {
+        requestRebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        requestRebuild();
+    }
+
+    /**
+     * 세션 조건(패킹된 int)에 해당하는 사전 계산 결과
+     * - 모드가 꺼져 있거나, 아직 테이블이 없거나, 지정되지 않은 속성이 있으면 empty
+     */
+    Optional<List<ScoredId>> lookup(int sessionFeatures) {
+        Table current = table.get();
+        int key = comboKey(sessionFeatures);
+
+        if (!enabled || current == null || key < 0) {
+            missCounter.increment();
+            return Optional.empty();
+        }
+
+        hitCounter.increment();
+        return Optional.of(current.get(key));
+    }
+
+    /**
+     * 백그라운드 재빌드 예약 (이미 대기 중인 재빌드가 있으면 합친다)
+     */
+    public void requestRebuild() {
+        if (!enabled || !rebuildQueued.compareAndSet(false, true)) {
+            return;
+        }
+        rebuildExecutor.execute(() -> {
+            rebuildQueued.set(false);
+            try {
+                refresh();
+            } catch (Exception e) {
+                log.error("[RecommendationTable] 사전 계산 테이블 빌드 실패. 기존 테이블을 계속 사용합니다.", e);
+            }
+        });
+    }
+
+    /**
+     * 지금 스레드에서 테이블을 새로 만들어 교체
+     */
+    void refresh() throws Exception {
+        table.set(buildTimer.recordCallable(this::build));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        rebuildExecutor.shutdownNow();
+        rebuildExecutor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private Table build() {
+        long startNanos = System.nanoTime();
+        BouquetFeatureIndex.Snapshot index = bouquetFeatureIndex.rebuild();
+
+        int k = RecommendationScorer.RECOMMENDATION_COUNT;
+        long[] ids = new long[COMBINATIONS * k];
+        int[] scores = new int[COMBINATIONS * k];
+        int[] counts = new int[COMBINATIONS];
+
+        for (int key = 0; key < COMBINATIONS; key++) {
+            List<ScoredId> ranked =
+                    RecommendationScorer.rank(index, featuresOf(key), k);
+            counts[key] = ranked.size();
+            for (int i = 0; i < ranked.size(); i++) {
+                ids[key * k + i] = ranked.get(i).id();
+                scores[key * k + i] = ranked.get(i).score();
+            }
+        }
+
+        log.info("[RecommendationTable] 사전 계산 완료. combinations={}, bouquets={}, elapsed={}ms",
+                COMBINATIONS, index.size(), (System.nanoTime() - startNanos) / 1_000_000);
+        return new Table(k, ids, scores, counts, index.size());
+    }
+
+    // ================== 조합 키 <-> 패킹된 속성 ==================
+
+    /**
+     * 세션 속성 → 0..1023 조합 키 (지정 안 된 속성이 있으면 -1)
+     */
+    static int comboKey(int sessionFeatures) {
+        int key = 0;
+        for (int i = 0; i < SHIFTS.length; i++) {
+            int value = (sessionFeatures >>> SHIFTS[i]) & 0xF;
+            if (value == 0) {
+                return -1;
+            }
+            key = key * RADIXES[i] + (value - 1);
+        }
+        return key;
+    }
+
+    /**
+     * 조합 키 → 세션 속성 (comboKey 의 역)
+     */
+    static int featuresOf(int key) {
+        int features = 0;
+        for (int i = SHIFTS.length - 1; i >= 0; i--) {
+            features |= ((key % RADIXES[i]) + 1) << SHIFTS[i];
+            key /= RADIXES[i];
+        }
+        return features;
+    }
+
+    private static int combinationCount() {
+        int count = 1;
+        for (int radix : RADIXES) {
+            count *= radix;
+        }
+        return count;
+    }
+
+    /**
+     * 불변 테이블: 조합 키마다 k칸씩 (부케 ID, 점수)
+     */
+    private record Table(int k, long[] ids, int[] scores, int[] counts, int bouquetCount) {
+
+        List<ScoredId> get(int key) {
+            List<ScoredId> result = new ArrayList<>(counts[key]);
+            for (int i = 0; i < counts[key]; i++) {
+                result.add(new ScoredId(ids[key * k + i], scores[key * k + i]));
+            }
+            return result;
+        }
+    }
+}
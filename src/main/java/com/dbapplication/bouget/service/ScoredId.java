@@ -0,0 +1,6 @@
+package com.dbapplication.bouget.service;
+
+/**
+ * ID + 점수 묶음 (TopKSelector 결과, 추천/검색/비슷한 부케 순위 공용)
+ */
+record ScoredId(long id, int score) {}
@@ -0,0 +1,96 @@
+package com.dbapplication.bouget.service;
+
+import java.util.List;
+
+/**
+ * 고정 크기 힙으로 (점수 내림차순, 부케 ID 오름차순) 상위 k개만 유지
+ * - 전체 정렬 없이 한 번 훑으면서 O(k) 메모리만 사용
+ * - 힙 루트는 현재 보관 중인 것 중 "가장 순위가 낮은" 부케
+ */
+final class TopKSelector {
+
+    private final long[] ids;
+    private final int[] scores;
+    private int size;
+
+    TopKSelector(int k) {
+        this.ids = new long[k];
+        this.scores = new int[k];
+    }
+
+    void offer(long bouquetId, int score) {
+        if (ids.length == 0) {
+            return;
+        }
+        if (size < ids.length) {
+            ids[size] = bouquetId;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (ranksHigher(bouquetId, score, ids[0], scores[0])) {
+            ids[0] = bouquetId;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * 순위 순서(1등부터)로 꺼낸다. 호출 후 selector 는 비워진다.
+     */
+    List<ScoredId> drain() {
+        ScoredId[] result = new ScoredId[size];
+        for (int i = size - 1; i >= 0; i--) {
+            result[i] = new ScoredId(ids[0], scores[0]);
+            size--;
+            ids[0] = ids[size];
+            scores[0] = scores[size];
+            siftDown(0);
+        }
+        return List.of(result);
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksHigher(ids[parent], scores[parent], ids[index], scores[index])) {
+                return;
+            }
+            swap(parent, index);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int left = index * 2 + 1;
+            if (left >= size) {
+                return;
+            }
+            int right = left + 1;
+            int lowest = left;
+            if (right < size && ranksHigher(ids[left], scores[left], ids[right], scores[right])) {
+                lowest = right;
+            }
+            if (!ranksHigher(ids[index], scores[index], ids[lowest], scores[lowest])) {
+                return;
+            }
+            swap(index, lowest);
+            index = lowest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        int score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+
+    /**
+     * 점수가 높을수록, 같으면 ID가 작을수록 순위가 높다
+     */
+    private static boolean ranksHigher(long idA, int scoreA, long idB, int scoreB) {
+        return scoreA != scoreB ? scoreA > scoreB : idA < idB;
+    }
+}
@@ -0,0 +1,19 @@
+-- 가상 피팅 합성 작업 큐 (여러 노드가 SELECT ... FOR UPDATE SKIP LOCKED 로 나눠 가져감)
+CREATE TABLE IF NOT EXISTS composite_job (
+    id             BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    apply_image_id BIGINT       NOT NULL,
+    status         VARCHAR(16)  NOT NULL,
+    attempts       INT          NOT NULL DEFAULT 0,
+    next_run_at    DATETIME(6)  NOT NULL,
+    lease_owner    VARCHAR(64)  NULL,
+    lease_until    DATETIME(6)  NULL,
+    last_error     VARCHAR(500) NULL,
+    created_at     DATETIME(6)  NULL,
+    CONSTRAINT composite_job_uk_1 UNIQUE (apply_image_id),
+    INDEX composite_job_index_1 (status, next_run_at),
+    INDEX composite_job_index_2 (status, lease_until)
+);
+
+-- 큐 도입 전에 PENDING 으로 남아 있던 가상 피팅을 한 번만 큐에 넣음 (이미 있으면 무시)
+INSERT IGNORE INTO composite_job (apply_image_id, status, attempts, next_run_at, created_at)
+SELECT id, 'QUEUED', 0, NOW(6), NOW(6) FROM apply_image WHERE status = 'PENDING';
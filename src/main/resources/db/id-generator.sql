@@ -0,0 +1,11 @@
+-- 추천 아이템용 ID 발급 테이블 (@TableGenerator, pooled-lo)
+-- 세션은 히스토리 정렬/커서가 id 순서에 기대므로 IDENTITY 그대로
+-- IDENTITY 대신 이 테이블에서 ID를 미리 받아두면 Hibernate JDBC 배치 insert 가 가능해진다
+CREATE TABLE IF NOT EXISTS id_generator (
+    sequence_name VARCHAR(64) NOT NULL PRIMARY KEY,
+    next_val      BIGINT      NOT NULL
+);
+
+-- 기존 AUTO_INCREMENT 로 쌓인 ID 다음 값부터 발급되도록 최초 1회만 시드 (이미 있으면 무시)
+INSERT IGNORE INTO id_generator (sequence_name, next_val)
+SELECT 'recommendation_items', COALESCE(MAX(id), 0) + 1 FROM recommendation_items;
@@ -0,0 +1,28 @@
+-- 내 기록 커서 조회용 인덱스 (user_id = ? and id < ? order by id desc)
+-- MySQL 은 CREATE INDEX IF NOT EXISTS 가 없으므로 information_schema 로 확인하고 없을 때만 생성 (idempotent)
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+    'CREATE INDEX recommendation_sessions_index_user_id ON recommendation_sessions (user_id, id)', 'DO 0')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'recommendation_sessions'
+      AND index_name = 'recommendation_sessions_index_user_id');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+    'CREATE INDEX apply_image_index_user_id ON apply_image (user_id, id)', 'DO 0')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'apply_image'
+      AND index_name = 'apply_image_index_user_id');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+    'CREATE INDEX inquiries_index_user_id ON inquiries (user_id, id)', 'DO 0')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'inquiries'
+      AND index_name = 'inquiries_index_user_id');
+PREPARE ddl FROM @ddl;
+EXECUTE ddl;
+DEALLOCATE PREPARE ddl;
@@ -0,0 +1,146 @@
+package com.dbapplication.bouget.config;
+
+import com.dbapplication.bouget.service.BouquetCatalog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.handler.MappedInterceptor;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class CatalogETagInterceptorTest {
+
+    private final BouquetCatalog bouquetCatalog = mock(BouquetCatalog.class);
+    private final CatalogETagInterceptor interceptor = new CatalogETagInterceptor(bouquetCatalog);
+
+    @BeforeEach
+    void setUp() {
+        given(bouquetCatalog.version()).willReturn(42L);
+    }
+
+    @Test
+    @DisplayName("If-None-Match 가 없으면 ETag 와 no-cache 를 붙이고 컨트롤러로 진행")
+    void firstRequestGetsETag() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(get("/bouquets", "page=1"), response, null)).isTrue();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).startsWith("\"2a-").endsWith("\"");
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache");
+    }
+
+    @Test
+    @DisplayName("If-None-Match 가 원본 ETag 와 같으면 304")
+    void identityETagMatches() {
+        String etag = etag("/bouquets", "page=1");
+        MockHttpServletRequest request = get("/bouquets", "page=1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(request, response, null)).isFalse();
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("gzip 표현의 ETag(-gz) 나 W/ 가 붙은 값도 같은 리소스로 보고 304, 응답 ETag 는 클라이언트가 가진 값")
+    void gzipAndWeakETagsMatch() {
+        String etag = etag("/bouquets", "page=1");
+        String gzipETag = etag.substring(0, etag.length() - 1) + "-gz\"";
+
+        MockHttpServletRequest request = get("/bouquets", "page=1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", " + gzipETag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(request, response, null)).isFalse();
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(gzipETag);
+
+        MockHttpServletRequest weak = get("/bouquets", "page=1");
+        weak.addHeader(HttpHeaders.IF_NONE_MATCH, "W/" + etag);
+        assertThat(interceptor.preHandle(weak, new MockHttpServletResponse(), null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("카탈로그 버전이나 쿼리가 다르면 ETag 불일치 → 컨트롤러로 진행")
+    void staleETagDoesNotMatch() {
+        String etag = etag("/bouquets", "page=1");
+
+        MockHttpServletRequest otherPage = get("/bouquets", "page=2");
+        otherPage.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        assertThat(interceptor.preHandle(otherPage, new MockHttpServletResponse(), null)).isTrue();
+
+        given(bouquetCatalog.version()).willReturn(43L);
+        MockHttpServletRequest request = get("/bouquets", "page=1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(request, response, null)).isTrue();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("GET 이 아니면 건드리지 않음")
+    void nonGetIsIgnored() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/bouquets");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "*");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(request, response, null)).isTrue();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+    }
+
+    @Test
+    @DisplayName("카탈로그 조회에만 적용되고 검색/비슷한 부케는 제외")
+    void searchAndSimilarAreExcluded() {
+        MappedInterceptor mapped = registeredInterceptor();
+
+        assertThat(mapped.matches(parsed(get("/bouquets", null)))).isTrue();
+        assertThat(mapped.matches(parsed(get("/bouquets/7", null)))).isTrue();
+        assertThat(mapped.matches(parsed(get("/bouquets/facets", null)))).isTrue();
+        assertThat(mapped.matches(parsed(get("/bouquets/search", "q=장미")))).isFalse();
+        assertThat(mapped.matches(parsed(get("/bouquets/7/similar", null)))).isFalse();
+        assertThat(mapped.matches(parsed(get("/recommendations", null)))).isFalse();
+    }
+
+    private String etag(String uri, String query) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(get(uri, query), response, null);
+        return response.getHeader(HttpHeaders.ETAG);
+    }
+
+    private MappedInterceptor registeredInterceptor() {
+        TestInterceptorRegistry registry = new TestInterceptorRegistry();
+        new CatalogETagConfig(bouquetCatalog).addInterceptors(registry);
+        return (MappedInterceptor) registry.interceptors().get(0);
+    }
+
+    private static MockHttpServletRequest get(String uri, String query) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setQueryString(query);
+        return request;
+    }
+
+    private static MockHttpServletRequest parsed(MockHttpServletRequest request) {
+        ServletRequestPathUtils.parseAndCache(request);
+        return request;
+    }
+
+    /**
+     * 등록된 인터셉터 목록을 꺼내기 위한 registry (getInterceptors 가 protected)
+     */
+    private static class TestInterceptorRegistry extends InterceptorRegistry {
+        List<Object> interceptors() {
+            return getInterceptors();
+        }
+    }
+}
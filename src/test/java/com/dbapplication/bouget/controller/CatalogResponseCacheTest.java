@@ -0,0 +1,127 @@
+package com.dbapplication.bouget.controller;
+
+import com.dbapplication.bouget.service.BouquetCatalog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class CatalogResponseCacheTest {
+
+    private static final String ETAG = "\"2a-1f3b\"";
+
+    // gzip 최소 크기(1KB)를 넘는 응답 / 넘지 않는 응답
+    private static final List<String> LARGE_BODY = Collections.nCopies(200, "화이트 장미 부케");
+    private static final List<String> SMALL_BODY = List.of("튤립");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BouquetCatalog bouquetCatalog = mock(BouquetCatalog.class);
+    private final CatalogResponseCache cache = new CatalogResponseCache(objectMapper, bouquetCatalog);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "maxBytes", 1L << 20);
+        ReflectionTestUtils.setField(cache, "gzipEnabled", true);
+        given(bouquetCatalog.version()).willReturn(42L);
+    }
+
+    @Test
+    @DisplayName("Accept-Encoding: gzip 의 q 값을 따르고, 명시가 없으면 * 의 q 값, q=0 은 거부")
+    void acceptsGzip() {
+        assertThat(CatalogResponseCache.acceptsGzip("gzip")).isTrue();
+        assertThat(CatalogResponseCache.acceptsGzip("deflate, gzip, br")).isTrue();
+        assertThat(CatalogResponseCache.acceptsGzip("x-gzip")).isTrue();
+        assertThat(CatalogResponseCache.acceptsGzip("GZIP;Q=0.5")).isTrue();
+        assertThat(CatalogResponseCache.acceptsGzip("br, *")).isTrue();
+
+        assertThat(CatalogResponseCache.acceptsGzip(null)).isFalse();
+        assertThat(CatalogResponseCache.acceptsGzip(" ")).isFalse();
+        assertThat(CatalogResponseCache.acceptsGzip("identity, br")).isFalse();
+        assertThat(CatalogResponseCache.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(CatalogResponseCache.acceptsGzip("gzip; q=0.0, br")).isFalse();
+        assertThat(CatalogResponseCache.acceptsGzip("br, *;q=0")).isFalse();
+        assertThat(CatalogResponseCache.acceptsGzip("gzip;q=0, *")).isFalse();
+        assertThat(CatalogResponseCache.acceptsGzip("gzip;q=abc")).isFalse();
+    }
+
+    @Test
+    @DisplayName("gzip 으로 내려주면 Content-Encoding 과 ETag 의 -gz 접미사가 붙는다")
+    void gzipResponseGetsSuffixedETag() throws IOException {
+        MockHttpServletResponse response = responseWithETag();
+
+        ResponseEntity<byte[]> entity = cache.respond("page=1", "gzip, deflate", response, () -> LARGE_BODY);
+
+        assertThat(entity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(entity.getHeaders().getFirst(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(gunzip(entity.getBody())).isEqualTo(objectMapper.writeValueAsBytes(LARGE_BODY));
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"2a-1f3b-gz\"");
+    }
+
+    @Test
+    @DisplayName("gzip 을 거부하거나 응답이 작으면 원본 JSON 그대로, ETag 도 그대로")
+    void identityResponseKeepsETag() throws IOException {
+        MockHttpServletResponse refused = responseWithETag();
+        ResponseEntity<byte[]> entity = cache.respond("page=1", "gzip;q=0", refused, () -> LARGE_BODY);
+
+        assertThat(entity.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(entity.getBody()).isEqualTo(objectMapper.writeValueAsBytes(LARGE_BODY));
+        assertThat(refused.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+
+        MockHttpServletResponse small = responseWithETag();
+        entity = cache.respond("page=2", "gzip", small, () -> SMALL_BODY);
+
+        assertThat(entity.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(small.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+    }
+
+    @Test
+    @DisplayName("같은 요청은 캐시에서 내려주고, 카탈로그 버전이 바뀌면 다시 직렬화")
+    void cachesPerCatalogVersion() {
+        AtomicInteger serialized = new AtomicInteger();
+
+        cache.respond("page=1", "gzip", responseWithETag(), () -> count(serialized));
+        cache.respond("page=1", null, responseWithETag(), () -> count(serialized));
+        assertThat(serialized).hasValue(1);
+
+        given(bouquetCatalog.version()).willReturn(43L);
+        cache.respond("page=1", "gzip", responseWithETag(), () -> count(serialized));
+        assertThat(serialized).hasValue(2);
+
+        // 키가 없으면 캐시하지 않음
+        cache.respond(null, "gzip", responseWithETag(), () -> count(serialized));
+        cache.respond(null, "gzip", responseWithETag(), () -> count(serialized));
+        assertThat(serialized).hasValue(4);
+    }
+
+    private static List<String> count(AtomicInteger serialized) {
+        serialized.incrementAndGet();
+        return LARGE_BODY;
+    }
+
+    private static MockHttpServletResponse responseWithETag() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setHeader(HttpHeaders.ETAG, ETAG);
+        return response;
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        }
+    }
+}
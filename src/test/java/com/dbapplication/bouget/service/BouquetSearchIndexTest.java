@@ -0,0 +1,116 @@
+package com.dbapplication.bouget.service;
+
+import com.dbapplication.bouget.repository.BouquetRepository;
+import com.dbapplication.bouget.repository.BouquetSearchRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class BouquetSearchIndexTest {
+
+    private final BouquetRepository bouquetRepository = mock(BouquetRepository.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final BouquetSearchIndex searchIndex = new BouquetSearchIndex(bouquetRepository, transactionTemplate);
+
+    // DB 에 있는 현재 부케 (전체 재빌드 / 부분 갱신 모두 여기서 읽음)
+    private final List<BouquetSearchRow> rows = new ArrayList<>(List.of(
+            new BouquetSearchRow(1L, "화이트 장미부케를", null, null),
+            new BouquetSearchRow(2L, "튤립 다발", "장미는 없어요", null),
+            new BouquetSearchRow(3L, "작약", null, "부케 리본 포함"),
+            new BouquetSearchRow(4L, "안개꽃", null, null),
+            new BouquetSearchRow(5L, "Rose Bouquet", null, null)
+    ));
+
+    @BeforeEach
+    void setUp() {
+        given(transactionTemplate.execute(any())).willAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        given(bouquetRepository.streamAllSearchRows()).willAnswer(invocation -> List.copyOf(rows).stream());
+        given(bouquetRepository.findSearchRowsByIdIn(anyCollection())).willAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return rows.stream().filter(row -> ids.contains(row.bouquetId())).toList();
+        });
+    }
+
+    @Test
+    @DisplayName("NFKC 정규화 + 소문자 후 2-gram, 한 글자 토막은 그 글자 자체")
+    void gramsAreNormalized() {
+        assertThat(BouquetSearchIndex.grams("장미 부케")).containsExactly("장미", "부케");
+        assertThat(BouquetSearchIndex.grams("ＲＯＳＥ!")).containsExactly("ro", "os", "se");
+        assertThat(BouquetSearchIndex.grams("꽃 다발")).containsExactly("꽃", "다발");
+        assertThat(BouquetSearchIndex.grams("  ")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("띄어쓰기/조사가 달라도 매칭되고, 이름 매칭 → 본문 매칭 → 동점이면 ID 순")
+    void matchesAcrossSpacingAndRanksByWeightedScore() {
+        searchIndex.rebuildAll();
+
+        BouquetSearchIndex.SearchResult result = searchIndex.search("장미 부케", 0, 10);
+
+        assertThat(result.bouquetIds()).containsExactly(1L, 2L, 3L);
+        assertThat(result.totalCount()).isEqualTo(3);
+        assertThat(searchIndex.search("ｒｏｓｅ", 0, 10).bouquetIds()).containsExactly(5L);
+        assertThat(searchIndex.search("해바라기", 0, 10).bouquetIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("offset/limit 는 순위 순서대로 자르고, 매칭 수를 넘는 offset 은 빈 페이지")
+    void pagesFollowRanking() {
+        searchIndex.rebuildAll();
+
+        assertThat(searchIndex.search("장미 부케", 1, 1).bouquetIds()).containsExactly(2L);
+        assertThat(searchIndex.search("장미 부케", 2, 10).bouquetIds()).containsExactly(3L);
+
+        BouquetSearchIndex.SearchResult pastEnd = searchIndex.search("장미 부케", 3, 10);
+        assertThat(pastEnd.bouquetIds()).isEmpty();
+        assertThat(pastEnd.totalCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("부분 갱신: 바뀐 부케는 새 내용으로, 삭제된 부케는 결과에서 빠진다 (전체 재빌드 없음)")
+    void reindexMasksDeletedDocs() {
+        // 삭제 표시가 압축 기준을 넘지 않도록 검색과 무관한 부케를 채워 둔다
+        LongStream.rangeClosed(10, 19).forEach(id -> rows.add(new BouquetSearchRow(id, "안개꽃 " + id, null, null)));
+        searchIndex.rebuildAll();
+
+        rows.set(1, new BouquetSearchRow(2L, "장미 꽃다발", null, null));
+        rows.remove(2);
+        searchIndex.reindex(List.of(2L, 3L));
+
+        BouquetSearchIndex.SearchResult result = searchIndex.search("장미 부케", 0, 10);
+        assertThat(result.bouquetIds()).containsExactly(1L, 2L);
+        assertThat(result.totalCount()).isEqualTo(2);
+        assertThat(searchIndex.search("튤립", 0, 10).bouquetIds()).isEmpty();
+        verify(bouquetRepository, times(1)).streamAllSearchRows();
+    }
+
+    @Test
+    @DisplayName("삭제 표시가 많이 쌓이면 전체 재빌드로 압축하고 결과는 그대로")
+    void reindexCompactsWhenTooManyDeleted() {
+        searchIndex.rebuildAll();
+
+        rows.removeIf(row -> row.bouquetId() == 2L || row.bouquetId() == 3L);
+        searchIndex.reindex(List.of(2L, 3L));
+
+        verify(bouquetRepository, times(2)).streamAllSearchRows();
+        BouquetSearchIndex.SearchResult result = searchIndex.search("장미 부케", 0, 10);
+        assertThat(result.bouquetIds()).containsExactly(1L);
+        assertThat(result.totalCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,127 @@
+package com.dbapplication.bouget.service;
+
+import com.dbapplication.bouget.entity.enums.Season;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+class CatalogImportReaderTest {
+
+    @Test
+    @DisplayName("CSV: 따옴표 안의 쉼표/줄바꿈/이중 따옴표를 값으로 읽고 빈 줄은 건너뜀")
+    void csvQuotedFieldsAndBlankLines() throws IOException {
+        CatalogImportReader reader = reader(CatalogImportService.Format.CSV, """
+                name,price,reason
+                "장미, 작약","30,000","첫 줄
+                둘째 줄"
+
+                "say ""hi""\",20000,
+                """);
+
+        assertThat(reader.next()).containsOnly(
+                entry("name", "장미, 작약"), entry("price", "30,000"), entry("reason", "첫 줄\n둘째 줄"));
+        assertThat(reader.line()).isEqualTo(2);
+
+        assertThat(reader.next()).containsOnly(
+                entry("name", "say \"hi\""), entry("price", "20000"), entry("reason", ""));
+        assertThat(reader.line()).isEqualTo(5);
+
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("CSV: 헤더의 BOM/공백/대소문자는 정규화")
+    void csvHeaderIsNormalized() throws IOException {
+        CatalogImportReader reader = reader(CatalogImportService.Format.CSV, "\uFEFFName, PRICE \n튤립,1000\n");
+
+        assertThat(reader.next()).containsOnly(entry("name", "튤립"), entry("price", "1000"));
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("CSV: 따옴표가 안 닫힌 행만 버리고 다음 행부터 계속 읽음")
+    void csvUnterminatedQuoteSkipsOnlyThatRow() throws IOException {
+        CatalogImportReader reader = reader(CatalogImportService.Format.CSV, """
+                name,price
+                "깨진 행,1000
+                작약,2000
+                """);
+
+        assertThatThrownBy(reader::next).isInstanceOf(CatalogImportReader.MalformedRowException.class);
+        assertThat(reader.line()).isEqualTo(2);
+
+        assertThat(reader.next()).containsOnly(entry("name", "작약"), entry("price", "2000"));
+        assertThat(reader.line()).isEqualTo(3);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("CSV: 헤더가 깨져 있으면 전체 실패")
+    void csvMalformedHeaderFails() {
+        CatalogImportReader reader = reader(CatalogImportService.Format.CSV, "\"name,price\n");
+
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(IllegalArgumentException.class)
+                .isNotInstanceOf(CatalogImportReader.MalformedRowException.class);
+    }
+
+    @Test
+    @DisplayName("NDJSON: 깨진 줄/객체가 아닌 줄만 건너뛰고, null 필드는 빼고 키는 소문자로")
+    void ndjsonSkipsMalformedLines() throws IOException {
+        CatalogImportReader reader = reader(CatalogImportService.Format.NDJSON, """
+                {"name":"장미","price":30000}
+
+                [1,2]
+                {broken
+                {"Name":"작약","SEASON":"spring","image":null}
+                """);
+
+        assertThat(reader.next()).containsOnly(entry("name", "장미"), entry("price", "30000"));
+
+        assertThatThrownBy(reader::next).isInstanceOf(CatalogImportReader.MalformedRowException.class);
+        assertThat(reader.line()).isEqualTo(3);
+        assertThatThrownBy(reader::next).isInstanceOf(CatalogImportReader.MalformedRowException.class);
+        assertThat(reader.line()).isEqualTo(4);
+
+        assertThat(reader.next()).containsOnly(entry("name", "작약"), entry("season", "spring"));
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("행 변환: 가격의 천 단위 쉼표와 enum 대소문자는 허용")
+    void importRowParsesPriceAndEnum() {
+        CatalogImportService.ImportRow row = CatalogImportService.ImportRow.from(
+                Map.of("name", " 장미 ", "price", "30,000", "season", "spring", "usage", " "));
+
+        assertThat(row.name()).isEqualTo("장미");
+        assertThat(row.price()).isEqualTo(30000);
+        assertThat(row.season()).isEqualTo(Season.SPRING);
+        assertThat(row.usage()).isNull();
+        assertThat(row.hasCategory()).isTrue();
+    }
+
+    @Test
+    @DisplayName("행 변환: 이름 누락/잘못된 가격/없는 enum 값은 IllegalArgumentException (그 행만 건너뜀)")
+    void importRowRejectsBadValues() {
+        assertThatThrownBy(() -> CatalogImportService.ImportRow.from(Map.of("price", "1000")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CatalogImportService.ImportRow.from(Map.of("name", "장미", "price", "삼만원")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CatalogImportService.ImportRow.from(Map.of("name", "장미", "season", "autumn")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static CatalogImportReader reader(CatalogImportService.Format format, String text) {
+        return new CatalogImportReader(
+                new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), format, new ObjectMapper());
+    }
+}
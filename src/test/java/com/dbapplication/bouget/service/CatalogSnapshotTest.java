@@ -0,0 +1,141 @@
+package com.dbapplication.bouget.service;
+
+import com.dbapplication.bouget.dto.BouquetCategoryResponse;
+import com.dbapplication.bouget.dto.BouquetFacetResponse;
+import com.dbapplication.bouget.dto.BouquetFilter;
+import com.dbapplication.bouget.dto.BouquetResponse;
+import com.dbapplication.bouget.entity.enums.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogSnapshotTest {
+
+    // id, 가격, 시즌, 드레스 무드 (5번은 카테고리 없음, 2/3/5번은 가격이 같음)
+    private final CatalogSnapshot snapshot = snapshot(
+            bouquet(1, 30000, Season.SPRING, DressMood.SIMPLE),
+            bouquet(2, 50000, Season.SUMMER, DressMood.LACE),
+            bouquet(3, 50000, Season.SPRING, DressMood.LACE),
+            bouquet(4, 70000, Season.FALL, DressMood.SIMPLE),
+            bouquetWithoutCategory(5, 50000),
+            bouquet(6, 90000, Season.SPRING, DressMood.LACE)
+    );
+
+    @Test
+    @DisplayName("조건이 없으면 전체를 ID 순으로")
+    void noFilterReturnsAll() {
+        assertThat(ids(BouquetFilter.none())).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+    }
+
+    @Test
+    @DisplayName("같은 속성 안의 여러 값은 OR")
+    void valuesWithinAttributeAreOred() {
+        assertThat(ids(filter(Set.of(Season.SPRING, Season.SUMMER), Set.of(), null, null)))
+                .containsExactly(1L, 2L, 3L, 6L);
+    }
+
+    @Test
+    @DisplayName("속성끼리는 AND")
+    void attributesAreAnded() {
+        assertThat(ids(filter(Set.of(Season.SPRING), Set.of(DressMood.LACE), null, null)))
+                .containsExactly(3L, 6L);
+    }
+
+    @Test
+    @DisplayName("카테고리가 없는 부케는 속성 조건이 있으면 빠진다")
+    void bouquetWithoutCategoryNeverMatchesAttributes() {
+        assertThat(ids(filter(Set.of(Season.values()), Set.of(), null, null)))
+                .containsExactly(1L, 2L, 3L, 4L, 6L);
+    }
+
+    @Test
+    @DisplayName("가격 범위는 양 끝 포함, 같은 가격은 모두 포함")
+    void priceBoundsAreInclusive() {
+        assertThat(ids(filter(Set.of(), Set.of(), 50000, 50000))).containsExactly(2L, 3L, 5L);
+        assertThat(ids(filter(Set.of(), Set.of(), 30000, 70000))).containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    @DisplayName("가격 한쪽이 null 이면 그쪽은 열린 구간")
+    void missingPriceBoundIsOpen() {
+        assertThat(ids(filter(Set.of(), Set.of(), 50001, null))).containsExactly(4L, 6L);
+        assertThat(ids(filter(Set.of(), Set.of(), null, 49999))).containsExactly(1L);
+        assertThat(ids(filter(Set.of(), Set.of(), 100000, null))).isEmpty();
+        assertThat(ids(filter(Set.of(), Set.of(), 60000, 40000))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("가격과 속성 조건을 같이 쓰면 교집합, 페이지는 전체 개수를 유지")
+    void pagesCombinedFilter() {
+        Page<BouquetResponse> page = snapshot.page(filter(Set.of(Season.SPRING), Set.of(), 40000, null), PageRequest.of(0, 1));
+
+        assertThat(page.getContent()).extracting(BouquetResponse::getId).containsExactly(3L);
+        assertThat(page.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("속성별 개수는 그 속성 조건만 빼고 나머지 조건(다른 속성 + 가격)은 모두 적용")
+    void facetIgnoresOnlyItsOwnCondition() {
+        BouquetFacetResponse facets = snapshot.facets(filter(Set.of(Season.SPRING), Set.of(DressMood.LACE), null, 60000));
+
+        assertThat(facets.getTotalCount()).isEqualTo(1);
+        // 시즌 조건 제외: LACE + 6만원 이하 → 2번(SUMMER), 3번(SPRING)
+        assertThat(facets.getSeason())
+                .containsEntry(Season.SPRING, 1L)
+                .containsEntry(Season.SUMMER, 1L)
+                .containsEntry(Season.FALL, 0L)
+                .containsEntry(Season.WINTER, 0L);
+        // 드레스 무드 조건 제외: SPRING + 6만원 이하 → 1번(SIMPLE), 3번(LACE)
+        assertThat(facets.getDressMood())
+                .containsEntry(DressMood.SIMPLE, 1L)
+                .containsEntry(DressMood.LACE, 1L)
+                .containsEntry(DressMood.BOHEMIAN, 0L);
+        // 조건이 없는 속성은 모든 조건 적용 → 3번만 남는데 웨딩 컬러가 없으므로 전부 0
+        assertThat(facets.getWeddingColor().values()).allMatch(count -> count == 0L);
+    }
+
+    private List<Long> ids(BouquetFilter filter) {
+        return snapshot.page(filter, PageRequest.of(0, 100)).getContent().stream()
+                .map(BouquetResponse::getId)
+                .toList();
+    }
+
+    private static BouquetFilter filter(Set<Season> seasons, Set<DressMood> dressMoods, Integer minPrice, Integer maxPrice) {
+        return new BouquetFilter(seasons, null, null, dressMoods, null, null, minPrice, maxPrice);
+    }
+
+    static CatalogSnapshot snapshot(BouquetResponse... bouquets) {
+        long[] ids = new long[bouquets.length];
+        for (int i = 0; i < bouquets.length; i++) {
+            ids[i] = bouquets[i].getId();
+        }
+        return new CatalogSnapshot(ids, bouquets);
+    }
+
+    static BouquetResponse bouquet(long id, int price, Season season, DressMood dressMood) {
+        return BouquetResponse.builder()
+                .id(id)
+                .name("bouquet-" + id)
+                .price(price)
+                .categories(BouquetCategoryResponse.builder()
+                        .bouquetId(id)
+                        .season(season)
+                        .dressMood(dressMood)
+                        .build())
+                .build();
+    }
+
+    static BouquetResponse bouquetWithoutCategory(long id, int price) {
+        return BouquetResponse.builder()
+                .id(id)
+                .name("bouquet-" + id)
+                .price(price)
+                .build();
+    }
+}
@@ -0,0 +1,186 @@
+package com.dbapplication.bouget.service;
+
+import com.dbapplication.bouget.entity.ApplyImage;
+import com.dbapplication.bouget.entity.Bouquet;
+import com.dbapplication.bouget.entity.CompositeJob;
+import com.dbapplication.bouget.entity.User;
+import com.dbapplication.bouget.entity.enums.ApplyStatus;
+import com.dbapplication.bouget.entity.enums.CompositeJobStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * lease 조건부 UPDATE(completeOwned / retryOwned / failOwned) 와 재시도 처리
+ * - claim 의 잠금 쿼리(FOR UPDATE SKIP LOCKED)는 MySQL 전용이라 여기서는 잠근 뒤의 처리(claimLocked)만 확인
+ */
+@DataJpaTest
+@Import({CompositeJobQueue.class, SimpleMeterRegistry.class})
+class CompositeJobQueueTest {
+
+    // CompositeJobQueue 기본값 (max-attempts=3, base-backoff=10s, ±20% 지터)
+    private static final int MAX_ATTEMPTS = 3;
+
+    private static final String OWNER = "node-a";
+    private static final String OTHER_OWNER = "node-b";
+
+    @Autowired
+    private CompositeJobQueue compositeJobQueue;
+
+    @Autowired
+    private TestEntityManager em;
+
+    private ApplyImage applyImage;
+
+    @BeforeEach
+    void setUp() {
+        User user = em.persist(User.builder()
+                .email("tester@bouget.com")
+                .name("tester")
+                .build());
+        Bouquet bouquet = em.persist(Bouquet.builder()
+                .name("bouquet")
+                .price(30000)
+                .imageUrl("/images/bouquets/bouquet000.png")
+                .build());
+        applyImage = em.persist(ApplyImage.builder()
+                .user(user)
+                .bouquet(bouquet)
+                .srcImageUrl("/images/uploads/dress.png")
+                .genImageUrl("")
+                .build());
+    }
+
+    @Test
+    @DisplayName("lease 를 가진 노드가 완료하면 작업 DONE + ApplyImage DONE")
+    void ownerCompletes() {
+        CompositeJob job = runningJob(OWNER, 1, LocalDateTime.now().plusSeconds(60));
+
+        compositeJobQueue.complete(claimed(job, 1), OWNER, "/images/composites/result.png");
+
+        CompositeJob reloaded = reload(job);
+        assertThat(reloaded.getStatus()).isEqualTo(CompositeJobStatus.DONE);
+        assertThat(reloaded.getLeaseOwner()).isNull();
+        ApplyImage image = em.find(ApplyImage.class, applyImage.getId());
+        assertThat(image.getStatus()).isEqualTo(ApplyStatus.DONE);
+        assertThat(image.getGenImageUrl()).isEqualTo("/images/composites/result.png");
+    }
+
+    @Test
+    @DisplayName("lease 를 잃은 노드(다른 owner / 이전 attempts)의 완료/실패는 무시")
+    void staleOwnerIsIgnored() {
+        // node-a 가 1번째 시도 중 lease 를 잃고, node-b 가 2번째 시도로 가져간 상태
+        CompositeJob job = runningJob(OTHER_OWNER, 2, LocalDateTime.now().plusSeconds(60));
+
+        compositeJobQueue.complete(claimed(job, 1), OWNER, "/images/composites/stale.png");
+        compositeJobQueue.fail(claimed(job, 1), OWNER, new IllegalStateException("timeout"));
+        // 같은 owner 라도 attempts 가 다르면 이전 시도의 결과
+        compositeJobQueue.complete(claimed(job, 1), OTHER_OWNER, "/images/composites/stale.png");
+
+        CompositeJob reloaded = reload(job);
+        assertThat(reloaded.getStatus()).isEqualTo(CompositeJobStatus.RUNNING);
+        assertThat(reloaded.getLeaseOwner()).isEqualTo(OTHER_OWNER);
+        assertThat(reloaded.getAttempts()).isEqualTo(2);
+        assertThat(reloaded.getLastError()).isNull();
+        assertThat(em.find(ApplyImage.class, applyImage.getId()).getStatus()).isEqualTo(ApplyStatus.PENDING);
+    }
+
+    @Test
+    @DisplayName("시도 횟수가 남은 실패는 backoff(base × 2^(attempts-1), ±20%) 뒤로 다시 대기")
+    void failureIsRetriedWithBackoff() {
+        CompositeJob job = runningJob(OWNER, 2, LocalDateTime.now().plusSeconds(60));
+        LocalDateTime before = LocalDateTime.now();
+
+        compositeJobQueue.fail(claimed(job, 2), OWNER, new IllegalStateException("composite timeout"));
+
+        CompositeJob reloaded = reload(job);
+        assertThat(reloaded.getStatus()).isEqualTo(CompositeJobStatus.QUEUED);
+        assertThat(reloaded.getLeaseOwner()).isNull();
+        assertThat(reloaded.getLeaseUntil()).isNull();
+        assertThat(reloaded.getLastError()).isEqualTo("IllegalStateException: composite timeout");
+        // 2번째 실패 → 20초 ± 20%
+        assertThat(reloaded.getNextRunAt()).isBetween(before.plusSeconds(16), LocalDateTime.now().plusSeconds(24));
+        assertThat(em.find(ApplyImage.class, applyImage.getId()).getStatus()).isEqualTo(ApplyStatus.PENDING);
+    }
+
+    @Test
+    @DisplayName("마지막 시도의 실패는 작업 FAILED + ApplyImage FAILED")
+    void lastFailureIsFinal() {
+        CompositeJob job = runningJob(OWNER, MAX_ATTEMPTS, LocalDateTime.now().plusSeconds(60));
+
+        compositeJobQueue.fail(claimed(job, MAX_ATTEMPTS), OWNER, new IllegalStateException("composite timeout"));
+
+        CompositeJob reloaded = reload(job);
+        assertThat(reloaded.getStatus()).isEqualTo(CompositeJobStatus.FAILED);
+        assertThat(reloaded.getLeaseOwner()).isNull();
+        assertThat(em.find(ApplyImage.class, applyImage.getId()).getStatus()).isEqualTo(ApplyStatus.FAILED);
+    }
+
+    @Test
+    @DisplayName("lease 가 만료된 작업: 시도 횟수가 남았으면 다시 가져가고, max-attempts 면 실행하지 않고 FAILED")
+    void expiredLeaseAtMaxAttemptsIsFailed() {
+        LocalDateTime now = LocalDateTime.now();
+        CompositeJob retryable = runningJob("dead-node", 1, now.minusSeconds(1));
+
+        List<CompositeJobQueue.ClaimedJob> claimed = compositeJobQueue.claimLocked(
+                List.of(em.find(CompositeJob.class, retryable.getId())), OWNER, now);
+
+        assertThat(claimed).containsExactly(new CompositeJobQueue.ClaimedJob(retryable.getId(), applyImage.getId(), 2));
+        CompositeJob reclaimed = reload(retryable);
+        assertThat(reclaimed.getLeaseOwner()).isEqualTo(OWNER);
+        assertThat(reclaimed.getLeaseUntil()).isAfter(now);
+
+        // 같은 작업이 마지막 시도까지 lease 만료로 돌아온 경우
+        em.getEntityManager().createQuery("update CompositeJob j set j.attempts = :attempts, j.leaseUntil = :leaseUntil")
+                .setParameter("attempts", MAX_ATTEMPTS)
+                .setParameter("leaseUntil", now.minusSeconds(1))
+                .executeUpdate();
+        em.clear();
+
+        claimed = compositeJobQueue.claimLocked(List.of(em.find(CompositeJob.class, retryable.getId())), OWNER, now);
+
+        assertThat(claimed).isEmpty();
+        CompositeJob failed = reload(retryable);
+        assertThat(failed.getStatus()).isEqualTo(CompositeJobStatus.FAILED);
+        assertThat(failed.getAttempts()).isEqualTo(MAX_ATTEMPTS);
+        assertThat(failed.getLeaseOwner()).isNull();
+        assertThat(em.find(ApplyImage.class, applyImage.getId()).getStatus()).isEqualTo(ApplyStatus.FAILED);
+    }
+
+    private CompositeJob runningJob(String owner, int attempts, LocalDateTime leaseUntil) {
+        CompositeJob job = em.persist(CompositeJob.builder()
+                .applyImageId(applyImage.getId())
+                .status(CompositeJobStatus.RUNNING)
+                .attempts(attempts)
+                .nextRunAt(LocalDateTime.now())
+                .leaseOwner(owner)
+                .leaseUntil(leaseUntil)
+                .build());
+        em.flush();
+        em.clear();
+        return job;
+    }
+
+    /**
+     * 조건부 UPDATE 는 영속성 컨텍스트를 거치지 않으므로 flush/clear 후 다시 읽음
+     */
+    private CompositeJob reload(CompositeJob job) {
+        em.flush();
+        em.clear();
+        return em.find(CompositeJob.class, job.getId());
+    }
+
+    private static CompositeJobQueue.ClaimedJob claimed(CompositeJob job, int attempts) {
+        return new CompositeJobQueue.ClaimedJob(job.getId(), job.getApplyImageId(), attempts);
+    }
+}
@@ -0,0 +1,85 @@
+package com.dbapplication.bouget.service;
+
+import com.dbapplication.bouget.entity.enums.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecommendationScorerTest {
+
+    @Test
+    @DisplayName("rank 는 전체 점수 계산 → 정렬 → 앞 limit개와 같다")
+    void rankMatchesSortAndLimit() {
+        Random random = new Random(7);
+        for (int trial = 0; trial < 100; trial++) {
+            BouquetFeatureIndex.Snapshot index = randomIndex(random, random.nextInt(60));
+            int session = randomFeatures(random);
+            int limit = random.nextInt(6);
+
+            List<ScoredId> expected = IntStream.range(0, index.size())
+                    .mapToObj(i -> new ScoredId(index.idAt(i), RecommendationScorer.score(session, index.featuresAt(i))))
+                    .sorted(Comparator.comparingInt(ScoredId::score).reversed().thenComparingLong(ScoredId::id))
+                    .limit(limit)
+                    .toList();
+
+            assertThat(RecommendationScorer.rank(index, session, limit)).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("0점 초과 부케가 limit개보다 적으면 0점 부케가 ID 순으로 뒤를 채운다")
+    void fillsWithZeroScoreBouquetsById() {
+        int session = BouquetFeatureIndex.pack(Season.SPRING, null, null, null, null, null);
+        BouquetFeatureIndex.Snapshot index = new BouquetFeatureIndex.Snapshot(
+                new long[]{1, 2, 3, 4},
+                new int[]{
+                        BouquetFeatureIndex.pack(Season.WINTER, null, null, null, null, null),
+                        BouquetFeatureIndex.pack(Season.SUMMER, null, null, null, null, null),
+                        BouquetFeatureIndex.pack(Season.SPRING, null, null, null, null, null),
+                        0
+                }
+        );
+
+        assertThat(RecommendationScorer.rank(index, session, 3)).containsExactly(
+                new ScoredId(3, RecommendationScorer.WEIGHT_SEASON),
+                new ScoredId(1, 0),
+                new ScoredId(2, 0)
+        );
+    }
+
+    private static BouquetFeatureIndex.Snapshot randomIndex(Random random, int size) {
+        long[] ids = new long[size];
+        int[] features = new int[size];
+        long id = 0;
+        for (int i = 0; i < size; i++) {
+            id += 1 + random.nextInt(3);
+            ids[i] = id;
+            features[i] = randomFeatures(random);
+        }
+        return new BouquetFeatureIndex.Snapshot(ids, features);
+    }
+
+    /**
+     * 속성마다 1/3 확률로 null
+     */
+    private static int randomFeatures(Random random) {
+        return BouquetFeatureIndex.pack(
+                pick(random, Season.values()),
+                pick(random, DressMood.values()),
+                pick(random, DressSilhouette.values()),
+                pick(random, WeddingColor.values()),
+                pick(random, BouquetAtmosphere.values()),
+                pick(random, Usage.values())
+        );
+    }
+
+    private static <E> E pick(Random random, E[] values) {
+        return random.nextInt(3) == 0 ? null : values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,138 @@
+package com.dbapplication.bouget.service;
+
+import com.dbapplication.bouget.dto.RecommendationSessionResponse;
+import com.dbapplication.bouget.entity.Bouquet;
+import com.dbapplication.bouget.entity.BouquetCategory;
+import com.dbapplication.bouget.entity.RecommendationItem;
+import com.dbapplication.bouget.entity.RecommendationSession;
+import com.dbapplication.bouget.entity.User;
+import com.dbapplication.bouget.entity.enums.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({RecommendationService.class, BouquetResponseAssembler.class})
+class RecommendationServiceQueryCountTest {
+
+    private static final int SESSION_COUNT = 40;
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private AuthService authService;
+
+    @MockitoBean
+    private BouquetFeatureIndex bouquetFeatureIndex;
+
+    @MockitoBean
+    private RecommendationTable recommendationTable;
+
+    @BeforeEach
+    void setUp() {
+        User user = em.persist(User.builder()
+                .email("tester@bouget.com")
+                .name("tester")
+                .build());
+
+        List<Bouquet> bouquets = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Bouquet bouquet = em.persist(Bouquet.builder()
+                    .name("bouquet-" + i)
+                    .price(10000 * (i + 1))
+                    .imageUrl("/images/bouquets/bouquet00" + i + ".png")
+                    .build());
+            em.persist(BouquetCategory.builder()
+                    .bouquet(bouquet)
+                    .season(Season.values()[i % 4])
+                    .dressMood(DressMood.SIMPLE)
+                    .dressSilhouette(DressSilhouette.A_LINE)
+                    .weddingColor(WeddingColor.PASTEL)
+                    .bouquetAtmosphere(BouquetAtmosphere.ROMANTIC_GARDEN)
+                    .usage(Usage.WEDDING_CEREMONY)
+                    .build());
+            bouquets.add(bouquet);
+        }
+
+        for (int s = 0; s < SESSION_COUNT; s++) {
+            RecommendationSession session = em.persist(RecommendationSession.builder()
+                    .user(user)
+                    .season(Season.SPRING)
+                    .dressMood(DressMood.SIMPLE)
+                    .dressSilhouette(DressSilhouette.A_LINE)
+                    .weddingColor(WeddingColor.PASTEL)
+                    .bouquetAtmosphere(BouquetAtmosphere.ROMANTIC_GARDEN)
+                    .build());
+            for (int i = 0; i < 3; i++) {
+                em.persist(RecommendationItem.builder()
+                        .session(session)
+                        .bouquet(bouquets.get((s + i) % bouquets.size()))
+                        .build());
+            }
+        }
+
+        em.flush();
+        em.clear();
+
+        given(authService.getCurrentUser()).willReturn(user);
+    }
+
+    @Test
+    @DisplayName("추천 히스토리 조회 쿼리 수는 페이지 크기와 무관하게 일정하다")
+    void historyStatementCountDoesNotDependOnPageSize() {
+        long smallPageStatements = countStatements(() -> recommendationService.getMySessions(PageRequest.of(0, 5)));
+        em.clear();
+        long largePageStatements = countStatements(() -> recommendationService.getMySessions(PageRequest.of(0, 20)));
+
+        // 세션 페이지 + count + 아이템 IN + 부케/카테고리 리스트 프로젝션 IN (부케 엔티티는 로딩하지 않음)
+        assertThat(smallPageStatements).isLessThanOrEqualTo(4);
+        assertThat(largePageStatements).isEqualTo(smallPageStatements);
+    }
+
+    @Test
+    @DisplayName("배치로 조회해도 세션마다 부케와 카테고리가 채워진다")
+    void historyItemsAreFullyAssembled() {
+        Page<RecommendationSessionResponse> page = recommendationService.getMySessions(PageRequest.of(0, 20));
+
+        assertThat(page.getTotalElements()).isEqualTo(SESSION_COUNT);
+        assertThat(page.getContent()).hasSize(20);
+        assertThat(page.getContent()).allSatisfy(session -> {
+            assertThat(session.getItems()).hasSize(3);
+            assertThat(session.getItems()).allSatisfy(item -> {
+                assertThat(item.getBouquet().getName()).startsWith("bouquet-");
+                assertThat(item.getBouquet().getCategories()).isNotNull();
+            });
+        });
+    }
+
+    private long countStatements(Supplier<?> action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.get();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,77 @@
+package com.dbapplication.bouget.service;
+
+import com.dbapplication.bouget.entity.enums.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class RecommendationTableTest {
+
+    @Test
+    @DisplayName("조합 키 → 세션 속성 → 조합 키가 모든 키에서 원래대로 돌아온다")
+    void comboKeyRoundTrip() {
+        for (int key = 0; key < RecommendationTable.COMBINATIONS; key++) {
+            assertThat(RecommendationTable.comboKey(RecommendationTable.featuresOf(key))).isEqualTo(key);
+        }
+    }
+
+    @Test
+    @DisplayName("지정되지 않은 속성이 하나라도 있으면 조합 키가 없다")
+    void unsetAttributeHasNoKey() {
+        assertThat(RecommendationTable.comboKey(BouquetFeatureIndex.pack(
+                null, DressMood.SIMPLE, DressSilhouette.A_LINE, WeddingColor.PASTEL, BouquetAtmosphere.ROMANTIC_GARDEN, null
+        ))).isEqualTo(-1);
+        assertThat(RecommendationTable.comboKey(BouquetFeatureIndex.pack(
+                Season.SPRING, DressMood.SIMPLE, DressSilhouette.A_LINE, WeddingColor.PASTEL, null, null
+        ))).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("테이블 조회 결과가 모든 조합에서 RecommendationScorer.rank 와 같고, 속성이 빠지면 miss")
+    void lookupMatchesRankForEveryCombination() throws Exception {
+        BouquetFeatureIndex.Snapshot index = randomIndex(new Random(11), 200);
+        BouquetFeatureIndex bouquetFeatureIndex = mock(BouquetFeatureIndex.class);
+        given(bouquetFeatureIndex.rebuild()).willReturn(index);
+
+        RecommendationTable table = new RecommendationTable(bouquetFeatureIndex, new SimpleMeterRegistry(), true);
+        table.refresh();
+
+        for (int key = 0; key < RecommendationTable.COMBINATIONS; key++) {
+            int features = RecommendationTable.featuresOf(key);
+            assertThat(table.lookup(features))
+                    .hasValue(RecommendationScorer.rank(index, features, RecommendationScorer.RECOMMENDATION_COUNT));
+        }
+
+        int withoutSeason = BouquetFeatureIndex.pack(
+                null, DressMood.SIMPLE, DressSilhouette.A_LINE, WeddingColor.PASTEL, BouquetAtmosphere.ROMANTIC_GARDEN, null
+        );
+        assertThat(table.lookup(withoutSeason)).isEmpty();
+    }
+
+    private static BouquetFeatureIndex.Snapshot randomIndex(Random random, int size) {
+        long[] ids = new long[size];
+        int[] features = new int[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = i + 1;
+            features[i] = BouquetFeatureIndex.pack(
+                    pick(random, Season.values()),
+                    pick(random, DressMood.values()),
+                    pick(random, DressSilhouette.values()),
+                    pick(random, WeddingColor.values()),
+                    pick(random, BouquetAtmosphere.values()),
+                    pick(random, Usage.values())
+            );
+        }
+        return new BouquetFeatureIndex.Snapshot(ids, features);
+    }
+
+    private static <E> E pick(Random random, E[] values) {
+        return random.nextInt(4) == 0 ? null : values[random.nextInt(values.length)];
+    }
+}
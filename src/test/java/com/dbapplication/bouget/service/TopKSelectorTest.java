@@ -0,0 +1,89 @@
+package com.dbapplication.bouget.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopKSelectorTest {
+
+    // 점수 내림차순 → ID 오름차순
+    private static final Comparator<ScoredId> RANK_ORDER =
+            Comparator.comparingInt(ScoredId::score).reversed().thenComparingLong(ScoredId::id);
+
+    @Test
+    @DisplayName("점수가 같으면 ID가 작은 쪽이 앞선다")
+    void tieBreaksByIdAscending() {
+        TopKSelector selector = new TopKSelector(3);
+        selector.offer(30, 5);
+        selector.offer(10, 5);
+        selector.offer(40, 7);
+        selector.offer(20, 5);
+        selector.offer(5, 1);
+
+        assertThat(selector.drain()).containsExactly(
+                new ScoredId(40, 7),
+                new ScoredId(10, 5),
+                new ScoredId(20, 5)
+        );
+    }
+
+    @Test
+    @DisplayName("k보다 적게 넣으면 넣은 것 전부를 순위 순서로 꺼낸다")
+    void drainsFewerThanK() {
+        TopKSelector selector = new TopKSelector(5);
+        selector.offer(2, 1);
+        selector.offer(1, 3);
+
+        assertThat(selector.drain()).containsExactly(new ScoredId(1, 3), new ScoredId(2, 1));
+    }
+
+    @Test
+    @DisplayName("k가 0이면 아무것도 보관하지 않는다")
+    void zeroCapacityKeepsNothing() {
+        TopKSelector selector = new TopKSelector(0);
+        selector.offer(1, 100);
+
+        assertThat(selector.drain()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("drain 후에는 비워진다")
+    void drainEmptiesSelector() {
+        TopKSelector selector = new TopKSelector(2);
+        selector.offer(1, 1);
+        selector.drain();
+
+        assertThat(selector.drain()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("무작위 입력에서 전체 정렬 후 앞 k개와 같다")
+    void matchesSortAndLimit() {
+        Random random = new Random(42);
+        for (int trial = 0; trial < 200; trial++) {
+            int k = random.nextInt(10);
+            int n = random.nextInt(50);
+
+            TopKSelector selector = new TopKSelector(k);
+            List<ScoredId> all = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                // 점수 범위를 좁혀서 동점이 자주 나오게
+                ScoredId scored = new ScoredId(random.nextInt(1000), random.nextInt(5));
+                if (all.stream().anyMatch(s -> s.id() == scored.id())) {
+                    continue;
+                }
+                all.add(scored);
+                selector.offer(scored.id(), scored.score());
+            }
+
+            List<ScoredId> expected = all.stream().sorted(RANK_ORDER).limit(k).toList();
+            assertThat(selector.drain()).containsExactlyElementsOf(expected);
+        }
+    }
+}